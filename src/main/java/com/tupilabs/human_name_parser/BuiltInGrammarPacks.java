@@ -0,0 +1,183 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The {@code GrammarPack}s shipped with the library, registered in
+ * {@code META-INF/services/com.tupilabs.human_name_parser.GrammarPack}.
+ *
+ * @since 0.4
+ */
+public final class BuiltInGrammarPacks {
+
+    private BuiltInGrammarPacks() {
+    }
+
+    /**
+     * English, with the default values of {@code HumanNameParserBuilder}.
+     */
+    public static final class English extends ListGrammarPack {
+        public English() {
+            super(Locale.ENGLISH,
+                    HumanNameParserBuilder.DEFAULT_SALUTATIONS,
+                    HumanNameParserBuilder.DEFAULT_POSTNOMINALS,
+                    HumanNameParserBuilder.DEFAULT_PREFIXES,
+                    HumanNameParserBuilder.DEFAULT_SUFFIXES,
+                    HumanNameParserBuilder.DEFAULT_CONJUNCTIONS);
+        }
+    }
+
+    /**
+     * Spanish, with double last names joined by "y", like "Ortega y Gasset".
+     */
+    public static final class Spanish extends ListGrammarPack {
+        public Spanish() {
+            super(new Locale("es"),
+                    Arrays.asList("sr", "sra", "srta", "don", "do\u00f1a", "dr", "dra", "lic", "ing", "prof"),
+                    Arrays.asList("phd"),
+                    Arrays.asList("de la", "de las", "de los", "del", "de", "la", "las", "los", "san", "santa"),
+                    Arrays.asList("jr", "hijo", "ii", "iii", "iv"),
+                    Arrays.asList("y"));
+        }
+    }
+
+    /**
+     * Portuguese, with prefixes like "dos" and last names joined by "e", like "Silva e Souza".
+     */
+    public static final class Portuguese extends ListGrammarPack {
+        public Portuguese() {
+            super(new Locale("pt"),
+                    Arrays.asList("sr", "sra", "srta", "dr", "dra", "prof", "profa", "dom", "dona"),
+                    Arrays.asList("phd"),
+                    Arrays.asList("da", "das", "de", "do", "dos"),
+                    Arrays.asList("jr", "junior", "j\u00fanior", "filho", "neto", "sobrinho", "ii", "iii"),
+                    Arrays.asList("e"));
+        }
+    }
+
+    /**
+     * French, with salutations like "Mme" and "Mlle".
+     */
+    public static final class French extends ListGrammarPack {
+        public French() {
+            super(Locale.FRENCH,
+                    Arrays.asList("m", "mme", "mlle", "me", "dr", "pr", "mgr", "monsieur", "madame", "mademoiselle"),
+                    Arrays.asList("phd"),
+                    Arrays.asList("de la", "de", "du", "des", "le", "la"),
+                    Arrays.asList("jr", "fils", "p\u00e8re", "ii", "iii"),
+                    Collections.<String>emptyList());
+        }
+    }
+
+    /**
+     * Dutch, with tussenvoegsels like "van der" and "ter".
+     */
+    public static final class Dutch extends ListGrammarPack {
+        public Dutch() {
+            super(new Locale("nl"),
+                    Arrays.asList("dhr", "mevr", "mw", "mr", "dr", "drs", "ir", "ing", "prof"),
+                    Arrays.asList("phd", "msc", "bsc", "ma", "ba"),
+                    Arrays.asList("van der", "van den", "van de", "van 't", "van", "de", "den", "der", "het",
+                            "'t", "ter", "ten", "te", "in 't", "op den", "op de", "uit den", "uit de"),
+                    Arrays.asList("jr", "sr"),
+                    Collections.<String>emptyList());
+        }
+    }
+
+    /**
+     * German, with prefixes like "von" and "zu".
+     */
+    public static final class German extends ListGrammarPack {
+        public German() {
+            super(Locale.GERMAN,
+                    Arrays.asList("herr", "frau", "fr\u00e4ulein", "dr", "prof"),
+                    Arrays.asList("phd", "mba"),
+                    Arrays.asList("von der", "von dem", "von und zu", "von", "zu", "vom", "zum"),
+                    Arrays.asList("jr", "sen", "jun", "ii", "iii"),
+                    Collections.<String>emptyList());
+        }
+    }
+
+    /**
+     * A pack holding fixed lists.
+     */
+    abstract static class ListGrammarPack implements GrammarPack {
+
+        private final Locale locale;
+        private final List<String> salutations;
+        private final List<String> postnominals;
+        private final List<String> prefixes;
+        private final List<String> suffixes;
+        private final List<String> conjunctions;
+
+        ListGrammarPack(Locale locale,
+                List<String> salutations,
+                List<String> postnominals,
+                List<String> prefixes,
+                List<String> suffixes,
+                List<String> conjunctions) {
+            this.locale = locale;
+            this.salutations = Collections.unmodifiableList(salutations);
+            this.postnominals = Collections.unmodifiableList(postnominals);
+            this.prefixes = Collections.unmodifiableList(prefixes);
+            this.suffixes = Collections.unmodifiableList(suffixes);
+            this.conjunctions = Collections.unmodifiableList(conjunctions);
+        }
+
+        @Override
+        public Locale getLocale() {
+            return locale;
+        }
+
+        @Override
+        public List<String> getSalutations() {
+            return salutations;
+        }
+
+        @Override
+        public List<String> getPostnominals() {
+            return postnominals;
+        }
+
+        @Override
+        public List<String> getPrefixes() {
+            return prefixes;
+        }
+
+        @Override
+        public List<String> getSuffixes() {
+            return suffixes;
+        }
+
+        @Override
+        public List<String> getConjunctions() {
+            return conjunctions;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * <p>The progress of a {@code BulkNameParser} run: how far it read the input and
+ * wrote the output and quarantine files, and how many names it parsed.</p>
+ *
+ * <p>This class is immutable.</p>
+ *
+ * @since 0.4
+ */
+public final class BulkCheckpoint {
+
+    private static final FailureReason[] REASONS = FailureReason.values();
+
+    private final long inputOffset;
+    private final long outputOffset;
+    private final long quarantineOffset;
+    private final long lines;
+    private final long rows;
+    private final long[] failures;
+
+    /**
+     * Create a checkpoint.
+     * @param inputOffset the number of input bytes consumed, always at the start of a line
+     * @param outputOffset the number of output bytes written
+     * @param quarantineOffset the number of quarantine bytes written
+     * @param lines the number of input lines read
+     * @param rows the number of names read, i.e. the lines that are not blank
+     * @param failures the number of names that could not be parsed, by {@code FailureReason} ordinal
+     */
+    BulkCheckpoint(long inputOffset, long outputOffset, long quarantineOffset, long lines, long rows,
+            long[] failures) {
+        this.inputOffset = inputOffset;
+        this.outputOffset = outputOffset;
+        this.quarantineOffset = quarantineOffset;
+        this.lines = lines;
+        this.rows = rows;
+        this.failures = failures.clone();
+    }
+
+    public long getInputOffset() {
+        return inputOffset;
+    }
+
+    public long getOutputOffset() {
+        return outputOffset;
+    }
+
+    public long getQuarantineOffset() {
+        return quarantineOffset;
+    }
+
+    public long getLines() {
+        return lines;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of names that could not be parsed.
+     * @return the number of failures
+     */
+    public long getFailures() {
+        long total = 0;
+        for (long count : failures) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the number of names that could not be parsed for a reason.
+     * @param reason the reason
+     * @return the number of failures
+     */
+    public long getFailures(FailureReason reason) {
+        return failures[reason.ordinal()];
+    }
+
+    /**
+     * Reads a checkpoint file.
+     * @param file the file
+     * @return the checkpoint, or {@code null} if the file does not exist
+     * @throws IOException if the file cannot be read or is not valid
+     */
+    public static BulkCheckpoint read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        final Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        try {
+            final long[] failures = new long[REASONS.length];
+            for (FailureReason reason : REASONS) {
+                failures[reason.ordinal()] = Long.parseLong(properties.getProperty("failures." + reason, "0"));
+            }
+            return new BulkCheckpoint(
+                    getLong(properties, "inputOffset", file),
+                    getLong(properties, "outputOffset", file),
+                    getLong(properties, "quarantineOffset", file),
+                    getLong(properties, "lines", file),
+                    getLong(properties, "rows", file),
+                    failures);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid checkpoint file " + file, e);
+        }
+    }
+
+    private static long getLong(Properties properties, String key, Path file) throws IOException {
+        final String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IOException("Invalid checkpoint file " + file + ": missing " + key);
+        }
+        return Long.parseLong(value);
+    }
+
+    /**
+     * Writes the checkpoint to a file. The file is written to a temporary file,
+     * synced to the disk, and moved atomically over the previous checkpoint, so
+     * that a crash leaves either the previous or the new checkpoint.
+     * @param file the file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        final StringBuilder sb = new StringBuilder()
+                .append("inputOffset=").append(inputOffset).append('\n')
+                .append("outputOffset=").append(outputOffset).append('\n')
+                .append("quarantineOffset=").append(quarantineOffset).append('\n')
+                .append("lines=").append(lines).append('\n')
+                .append("rows=").append(rows).append('\n');
+        for (FailureReason reason : REASONS) {
+            sb.append("failures.").append(reason).append('=').append(failures[reason.ordinal()]).append('\n');
+        }
+        writeAtomically(file, sb.toString());
+    }
+
+    /**
+     * Writes properties to a file, through a synced temporary file, so that the
+     * file holds either its previous or its new content.
+     * @param file the file
+     * @param content the properties, in ISO-8859-1
+     * @throws IOException if the file cannot be written
+     */
+    static void writeAtomically(Path file, String content) throws IOException {
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                OutputStream out = Channels.newOutputStream(channel)) {
+            out.write(content.getBytes(StandardCharsets.ISO_8859_1));
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkCheckpoint[inputOffset=" + inputOffset + ", outputOffset=" + outputOffset
+                + ", quarantineOffset=" + quarantineOffset + ", lines=" + lines + ", rows=" + rows
+                + ", failures=" + Arrays.toString(failures) + "]";
+    }
+}
@@ -0,0 +1,864 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Parses a UTF-8 file with one name per line into a pipe-delimited file, in
+ * the same column order as the test names file:</p>
+ *
+ * <pre>
+ * name|leadingInit|first|nicknames|middle|last|suffix|salutation|postnominal
+ * </pre>
+ *
+ * <p>Blank lines are skipped. Names that cannot be parsed are left out of the
+ * output and counted by {@link FailureReason} in the {@link #getFailureStats()
+ * failure stats}, which also keep a bounded sample of them. With a quarantine
+ * file, every failed name is written there as-is, after its line number and
+ * reason:</p>
+ *
+ * <pre>
+ * line|reason|name
+ * </pre>
+ *
+ * <p>With a checkpoint file, the parser records its progress every
+ * {@link #withCheckpointInterval(long) interval} rows: it flushes and syncs the
+ * output and quarantine files, then atomically replaces the checkpoint with the
+ * file offsets and counts. A run that finds a checkpoint resumes from it: the
+ * output and quarantine files are truncated to the checkpointed offsets and the
+ * input is read from the checkpointed offset, so each name is written exactly
+ * once, whatever the run was doing when it stopped. The checkpoint is kept when
+ * the run completes; running again with it is a no-op, and it must be deleted
+ * to parse the file from the start.</p>
+ *
+ * <pre>
+ * BulkCheckpoint done = new BulkNameParser()
+ *     .withCheckpointFile(Paths.get("names.checkpoint"))
+ *     .withQuarantineFile(Paths.get("rejected.txt"))
+ *     .parse(Paths.get("names.txt"), Paths.get("parsed.txt"));
+ * </pre>
+ *
+ * <p>With a {@link #withParallelism(int) parallelism} above 1, the input file
+ * is split into byte ranges starting at line boundaries, each memory-mapped
+ * and parsed by a worker thread with its own parser, into its own part file.
+ * The parts are then appended to the output file in input order, so the
+ * output is the same as the one of a single-threaded run. Alternatively,
+ * {@link #parseSharded(Path, Path)} keeps the parts as the output, with a
+ * manifest. These runs do not support checkpoints.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @since 0.4
+ */
+public final class BulkNameParser {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long DEFAULT_CHECKPOINT_INTERVAL = 1_000_000L;
+    private static final int DEFAULT_FAILURE_SAMPLES = 16;
+    private static final FailureReason[] REASONS = FailureReason.values();
+    /** The ranges per worker thread, so that a slow range does not leave the other threads idle. */
+    private static final int RANGES_PER_THREAD = 4;
+    /** The maximum size of a range, well below the 2 GB limit of a mapped buffer. */
+    private static final long MAX_RANGE_SIZE = 256L * 1024 * 1024;
+    /** The name of the manifest of a sharded run. */
+    public static final String MANIFEST = "manifest.properties";
+
+    /**
+     * The output columns after the name, in the order of the test names file.
+     */
+    private static final NamePart[] COLUMNS = {
+        NamePart.LEADING_INIT,
+        NamePart.FIRST,
+        NamePart.NICKNAMES,
+        NamePart.MIDDLE,
+        NamePart.LAST,
+        NamePart.SUFFIX,
+        NamePart.SALUTATION,
+        NamePart.POSTNOMINAL
+    };
+
+    private final ReusableNameParser parser;
+    private final NameParts parts = new NameParts();
+    private Path checkpointFile;
+    private long checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+    private Path quarantineFile;
+    private int failureSamples = DEFAULT_FAILURE_SAMPLES;
+    private int parallelism = 1;
+
+    private ChannelOpener channels = file -> FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE);
+
+    private byte[] in;
+    private OutputFile output;
+    private OutputFile quarantine;
+    private long quarantineOffset;
+    private long lines;
+    private long rows;
+    private final long[] failures = new long[REASONS.length];
+    private FailureStats failureStats = new FailureStats(0);
+
+    /**
+     * Create a bulk parser with the default grammar.
+     */
+    public BulkNameParser() {
+        this(NameGrammar.defaultGrammar());
+    }
+
+    /**
+     * Create a bulk parser.
+     * @param grammar the grammar
+     */
+    public BulkNameParser(NameGrammar grammar) {
+        this.parser = new ReusableNameParser(grammar);
+    }
+
+    /**
+     * Records the progress in a checkpoint file, and resumes from it.
+     * @param checkpointFile the checkpoint file, or {@code null} to disable checkpoints
+     * @return this bulk parser
+     */
+    public BulkNameParser withCheckpointFile(Path checkpointFile) {
+        this.checkpointFile = checkpointFile;
+        return this;
+    }
+
+    /**
+     * Sets how many rows are read between checkpoints. Each checkpoint syncs the
+     * output to the disk, so a checkpoint every few hundred thousand rows costs
+     * little compared to the parsing.
+     * @param checkpointInterval the number of rows
+     * @return this bulk parser
+     */
+    public BulkNameParser withCheckpointInterval(long checkpointInterval) {
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Invalid checkpoint interval: " + checkpointInterval);
+        }
+        this.checkpointInterval = checkpointInterval;
+        return this;
+    }
+
+    /**
+     * Writes the names that cannot be parsed to a quarantine file.
+     * @param quarantineFile the quarantine file, or {@code null} to only count the failures
+     * @return this bulk parser
+     */
+    public BulkNameParser withQuarantineFile(Path quarantineFile) {
+        this.quarantineFile = quarantineFile;
+        return this;
+    }
+
+    /**
+     * Sets how many failed names are sampled for each reason.
+     * @param failureSamples the number of samples
+     * @return this bulk parser
+     */
+    public BulkNameParser withFailureSamples(int failureSamples) {
+        if (failureSamples < 0) {
+            throw new IllegalArgumentException("Invalid number of samples: " + failureSamples);
+        }
+        this.failureSamples = failureSamples;
+        return this;
+    }
+
+    /**
+     * Sets the number of worker threads parsing ranges of the input file. A
+     * parallelism above 1 is not supported with a checkpoint file.
+     * @param parallelism the number of threads, 1 by default, to parse the file
+     *     sequentially
+     * @return this bulk parser
+     */
+    public BulkNameParser withParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Invalid parallelism: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets how the output and quarantine files are opened, e.g. to simulate a
+     * crash in tests.
+     * @param channels opens a file for writing
+     * @return this bulk parser
+     */
+    BulkNameParser withChannels(ChannelOpener channels) {
+        this.channels = Objects.requireNonNull(channels);
+        return this;
+    }
+
+    /**
+     * Gets the failures of the current or last run. The counts include the
+     * failures before the checkpoint the run resumed from, but the samples only
+     * come from the run itself.
+     * @return the failure stats
+     */
+    public FailureStats getFailureStats() {
+        return failureStats;
+    }
+
+    /**
+     * Parses the names of the input file into the output file, resuming from the
+     * checkpoint file when there is one.
+     * @param inputFile the input file, UTF-8 encoded, one name per line
+     * @param outputFile the output file
+     * @return the final progress
+     * @throws IOException if a file cannot be read or written, or the checkpoint
+     *     does not match the files
+     */
+    public BulkCheckpoint parse(Path inputFile, Path outputFile) throws IOException {
+        Objects.requireNonNull(inputFile);
+        Objects.requireNonNull(outputFile);
+        if (parallelism > 1) {
+            checkNoCheckpoint();
+            return parseRanges(inputFile, outputFile, null);
+        }
+        final BulkCheckpoint resumeFrom = checkpointFile == null ? null : BulkCheckpoint.read(checkpointFile);
+        if (in == null) {
+            in = new byte[BUFFER_SIZE];
+        }
+        long inputOffset = 0;
+        long outputOffset = 0;
+        quarantineOffset = 0;
+        lines = 0;
+        rows = 0;
+        Arrays.fill(failures, 0);
+        failureStats = new FailureStats(failureSamples);
+        if (resumeFrom != null) {
+            inputOffset = resumeFrom.getInputOffset();
+            outputOffset = resumeFrom.getOutputOffset();
+            quarantineOffset = resumeFrom.getQuarantineOffset();
+            lines = resumeFrom.getLines();
+            rows = resumeFrom.getRows();
+            for (FailureReason reason : REASONS) {
+                failures[reason.ordinal()] = resumeFrom.getFailures(reason);
+                failureStats.addCount(reason, resumeFrom.getFailures(reason));
+            }
+        }
+        try (FileChannel input = FileChannel.open(inputFile, StandardOpenOption.READ);
+                OutputFile output = openOutput(outputFile, outputOffset);
+                OutputFile quarantine = quarantineFile == null ? null
+                        : openOutput(quarantineFile, quarantineOffset)) {
+            if (inputOffset > input.size()) {
+                throw new IOException("Checkpoint input offset " + inputOffset + " is past the end of " + inputFile);
+            }
+            this.output = output;
+            this.quarantine = quarantine;
+            input.position(inputOffset);
+            return run(input, inputOffset);
+        } finally {
+            this.output = null;
+            this.quarantine = null;
+        }
+    }
+
+    /**
+     * <p>Parses the names of the input file into part files in a directory,
+     * one per byte range of the input, named {@code part-00000},
+     * {@code part-00001}, and so on, in input order. Each range is parsed by
+     * one of the {@link #withParallelism(int) worker threads}.</p>
+     *
+     * <p>Once all the ranges are parsed, the {@link #MANIFEST manifest} is
+     * written in the directory, with the total counts, and for each part
+     * {@code i} its {@code part.i.file}, the {@code part.i.inputOffset} and
+     * {@code part.i.inputEnd} of its range, its {@code part.i.firstLine} in the
+     * input, and its {@code part.i.lines}, {@code part.i.rows} and
+     * {@code part.i.failures}. The failed names of all the parts go to the
+     * quarantine file, in input order.</p>
+     *
+     * @param inputFile the input file, UTF-8 encoded, one name per line
+     * @param outputDirectory the directory of the part files and manifest, created if needed
+     * @return the final progress, with the total size of the parts as output offset
+     * @throws IOException if a file cannot be read or written
+     */
+    public BulkCheckpoint parseSharded(Path inputFile, Path outputDirectory) throws IOException {
+        Objects.requireNonNull(inputFile);
+        Objects.requireNonNull(outputDirectory);
+        checkNoCheckpoint();
+        Files.createDirectories(outputDirectory);
+        return parseRanges(inputFile, null, outputDirectory);
+    }
+
+    private void checkNoCheckpoint() {
+        if (checkpointFile != null) {
+            throw new IllegalStateException("Checkpoints are not supported by parallel or sharded runs");
+        }
+    }
+
+    /**
+     * Splits the input file into ranges, and parses them. The part files are
+     * deleted once appended to the output file, unless the run is sharded.
+     */
+    private BulkCheckpoint parseRanges(Path inputFile, Path outputFile, Path outputDirectory) throws IOException {
+        quarantineOffset = 0;
+        lines = 0;
+        rows = 0;
+        Arrays.fill(failures, 0);
+        failureStats = new FailureStats(failureSamples);
+        try (FileChannel input = FileChannel.open(inputFile, StandardOpenOption.READ)) {
+            final long[] bounds = split(input);
+            final int ranges = bounds.length - 1;
+            final Path[] partFiles = new Path[ranges];
+            final Path[] quarantines = new Path[ranges];
+            for (int i = 0; i < ranges; i++) {
+                partFiles[i] = outputDirectory != null ? outputDirectory.resolve(String.format(Locale.ROOT, "part-%05d", i))
+                        : outputFile.resolveSibling(outputFile.getFileName() + ".part-" + i);
+                quarantines[i] = quarantineFile == null ? null
+                        : quarantineFile.resolveSibling(quarantineFile.getFileName() + ".part-" + i);
+            }
+            try {
+                return mergeRanges(input, bounds, partFiles, quarantines, outputFile, outputDirectory);
+            } finally {
+                for (int i = 0; i < ranges; i++) {
+                    if (outputDirectory == null) {
+                        Files.deleteIfExists(partFiles[i]);
+                    }
+                    if (quarantines[i] != null) {
+                        Files.deleteIfExists(quarantines[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses the ranges, then appends the parts to the output file, or writes
+     * the manifest of the parts, and appends the quarantined names.
+     */
+    private BulkCheckpoint mergeRanges(FileChannel input, long[] bounds, Path[] partFiles, Path[] quarantines,
+            Path outputFile, Path outputDirectory) throws IOException {
+        final int ranges = bounds.length - 1;
+        final BulkCheckpoint[] results = new BulkCheckpoint[ranges];
+        final FailureStats[] stats = new FailureStats[ranges];
+        parseRanges(input, bounds, partFiles, quarantines, results, stats);
+
+        final StringBuilder manifest = new StringBuilder("parts=").append(ranges).append('\n');
+        long outputSize = 0;
+        try (OutputFile output = outputFile == null ? null : openOutput(outputFile, 0);
+                OutputFile quarantine = quarantineFile == null ? null : openOutput(quarantineFile, 0)) {
+            for (int i = 0; i < ranges; i++) {
+                final BulkCheckpoint result = results[i];
+                if (output != null) {
+                    output.append(partFiles[i]);
+                }
+                if (quarantine != null) {
+                    quarantine.appendQuarantine(quarantines[i], lines);
+                }
+                failureStats.merge(stats[i], lines);
+                manifest.append("part.").append(i).append(".file=").append(partFiles[i].getFileName()).append('\n')
+                        .append("part.").append(i).append(".inputOffset=").append(bounds[i]).append('\n')
+                        .append("part.").append(i).append(".inputEnd=").append(bounds[i + 1]).append('\n')
+                        .append("part.").append(i).append(".firstLine=").append(lines + 1).append('\n')
+                        .append("part.").append(i).append(".lines=").append(result.getLines()).append('\n')
+                        .append("part.").append(i).append(".rows=").append(result.getRows()).append('\n')
+                        .append("part.").append(i).append(".failures=").append(result.getFailures()).append('\n');
+                outputSize += result.getOutputOffset();
+                lines += result.getLines();
+                rows += result.getRows();
+                for (FailureReason reason : REASONS) {
+                    failures[reason.ordinal()] += result.getFailures(reason);
+                }
+            }
+            if (quarantine != null) {
+                quarantine.flush();
+                quarantineOffset = quarantine.offset;
+            }
+        }
+        final BulkCheckpoint done = new BulkCheckpoint(input.size(), outputSize, quarantineOffset, lines, rows,
+                failures);
+        if (outputDirectory != null) {
+            manifest.append("lines=").append(lines).append('\n')
+                    .append("rows=").append(rows).append('\n');
+            for (FailureReason reason : REASONS) {
+                manifest.append("failures.").append(reason).append('=').append(failures[reason.ordinal()])
+                        .append('\n');
+            }
+            BulkCheckpoint.writeAtomically(outputDirectory.resolve(MANIFEST), manifest.toString());
+        }
+        return done;
+    }
+
+    /**
+     * Parses the ranges on the worker threads, each with its own bulk parser,
+     * taking the next range left until there is none.
+     */
+    private void parseRanges(FileChannel input, long[] bounds, Path[] partFiles, Path[] quarantines,
+            BulkCheckpoint[] results, FailureStats[] stats) throws IOException {
+        final int ranges = bounds.length - 1;
+        final int threads = Math.max(1, Math.min(parallelism, ranges));
+        final AtomicInteger next = new AtomicInteger();
+        final NameGrammar grammar = parser.getGrammar();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    final BulkNameParser worker = new BulkNameParser(grammar).withFailureSamples(failureSamples);
+                    int i;
+                    while ((i = next.getAndIncrement()) < ranges && !Thread.currentThread().isInterrupted()) {
+                        results[i] = worker.parseRange(input, bounds[i], bounds[i + 1], partFiles[i], quarantines[i]);
+                        stats[i] = worker.failureStats;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while parsing");
+                } catch (ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    } else if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    throw new IOException(cause);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Splits the input into ranges of about the same size, each starting at the
+     * start of a line.
+     * @return the start of each range, then the end of the last one
+     */
+    private long[] split(FileChannel input) throws IOException {
+        final long size = input.size();
+        final long count = size == 0 ? 0 : Math.min(size,
+                Math.max((long) parallelism * RANGES_PER_THREAD, (size + MAX_RANGE_SIZE - 1) / MAX_RANGE_SIZE));
+        final List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        final ByteBuffer scan = ByteBuffer.allocate(4096);
+        long previous = 0;
+        for (long i = 1; i < count; i++) {
+            final long bound = lineStart(input, Math.max(previous, size / count * i), scan);
+            if (bound > previous && bound < size) {
+                bounds.add(bound);
+                previous = bound;
+            }
+        }
+        if (size > 0) {
+            bounds.add(size);
+        }
+        final long[] array = new long[bounds.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = bounds.get(i);
+            if (i > 0 && array[i] - array[i - 1] > Integer.MAX_VALUE) {
+                throw new IOException("No line end between offsets " + array[i - 1] + " and " + array[i]);
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Finds the start of the first line starting at or after an offset, above 0.
+     */
+    private static long lineStart(FileChannel input, long offset, ByteBuffer scan) throws IOException {
+        // a line starts at the offset if the byte before it ends a line
+        long position = offset - 1;
+        while (true) {
+            scan.clear();
+            final int read = input.read(scan, position);
+            if (read < 0) {
+                return input.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Parses a range of the input into its own part and quarantine files,
+     * with line numbers counted from the start of the range.
+     * @return the progress, with the size of the part as output offset
+     */
+    private BulkCheckpoint parseRange(FileChannel input, long from, long to, Path part, Path quarantinePart)
+            throws IOException {
+        lines = 0;
+        rows = 0;
+        Arrays.fill(failures, 0);
+        failureStats = new FailureStats(failureSamples);
+        if (in == null) {
+            in = new byte[BUFFER_SIZE];
+        }
+        try (OutputFile output = openOutput(part, 0);
+                OutputFile quarantine = quarantinePart == null ? null : openOutput(quarantinePart, 0)) {
+            this.output = output;
+            this.quarantine = quarantine;
+            final MappedByteBuffer range = input.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+            final int end = range.limit();
+            int start = 0;
+            for (int i = 0; i < end; i++) {
+                if (range.get(i) == '\n') {
+                    line(range, start, i);
+                    start = i + 1;
+                }
+            }
+            if (start < end) {
+                line(range, start, end);
+            }
+            output.flush();
+            if (quarantine != null) {
+                quarantine.flush();
+            }
+            return progress(to);
+        } finally {
+            this.output = null;
+            this.quarantine = null;
+        }
+    }
+
+    /**
+     * Copies a line of a mapped range to the input buffer, and parses it.
+     */
+    private void line(ByteBuffer range, int from, int to) throws IOException {
+        final int length = to - from;
+        if (length > in.length) {
+            in = new byte[Math.max(length, in.length * 2)];
+        }
+        final ByteBuffer bytes = range.duplicate();
+        // through Buffer, as the ByteBuffer override of position(int) does not exist in Java 8
+        ((Buffer) bytes).position(from);
+        bytes.get(in, 0, length);
+        line(0, length);
+    }
+
+    private BulkCheckpoint run(FileChannel input, long inputOffset) throws IOException {
+        // the input offset of in[0]
+        long bufferOffset = inputOffset;
+        // the start of the current line
+        int start = 0;
+        // the end of the bytes read
+        int end = 0;
+        // where to look for the next line terminator
+        int scan = 0;
+        long nextCheckpoint = rows + checkpointInterval;
+        while (true) {
+            final int newline = indexOf(in, scan, end, (byte) '\n');
+            if (newline < 0) {
+                if (start > 0) {
+                    System.arraycopy(in, start, in, 0, end - start);
+                    bufferOffset += start;
+                    end -= start;
+                    start = 0;
+                } else if (end == in.length) {
+                    // a line longer than the buffer
+                    in = Arrays.copyOf(in, in.length * 2);
+                }
+                scan = end;
+                final int read = input.read(ByteBuffer.wrap(in, end, in.length - end));
+                if (read < 0) {
+                    if (end > start) {
+                        line(start, end);
+                    }
+                    break;
+                }
+                end += read;
+                continue;
+            }
+            line(start, newline);
+            start = newline + 1;
+            scan = start;
+            if (checkpointFile != null && rows >= nextCheckpoint) {
+                checkpoint(bufferOffset + start);
+                nextCheckpoint = rows + checkpointInterval;
+            }
+        }
+        output.flush();
+        if (quarantine != null) {
+            quarantine.flush();
+        }
+        final long endOffset = bufferOffset + end;
+        if (checkpointFile != null) {
+            return checkpoint(endOffset);
+        }
+        return progress(endOffset);
+    }
+
+    private static int indexOf(byte[] bytes, int from, int to, byte b) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses the line between {@code from} and {@code to} of the input buffer,
+     * excluding the line feed, and writes its row.
+     */
+    private void line(int from, int to) throws IOException {
+        lines++;
+        if (to > from && in[to - 1] == '\r') {
+            to--;
+        }
+        if (isBlank(in, from, to)) {
+            return;
+        }
+        rows++;
+        try {
+            parser.parseUtf8(in, from, to - from, parts);
+        } catch (ParseException e) {
+            reject(e.getReason(), from, to);
+            return;
+        }
+        output.write(in, from, to - from);
+        for (NamePart column : COLUMNS) {
+            output.write((byte) '|');
+            output.write(parts, column);
+        }
+        output.write((byte) '\n');
+    }
+
+    private void reject(FailureReason reason, int from, int to) throws IOException {
+        failures[reason.ordinal()]++;
+        failureStats.add(lines, reason, in, from, to - from);
+        if (quarantine != null) {
+            quarantine.write(lines);
+            quarantine.write((byte) '|');
+            final String name = reason.name();
+            for (int i = 0; i < name.length(); i++) {
+                quarantine.write((byte) name.charAt(i));
+            }
+            quarantine.write((byte) '|');
+            quarantine.write(in, from, to - from);
+            quarantine.write((byte) '\n');
+        }
+    }
+
+    private static boolean isBlank(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] != ' ' && bytes[i] != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private BulkCheckpoint progress(long inputOffset) {
+        return new BulkCheckpoint(inputOffset, output.offset,
+                quarantine == null ? quarantineOffset : quarantine.offset, lines, rows, failures);
+    }
+
+    /**
+     * Flushes and syncs the output and quarantine files, then records the
+     * progress, so that the checkpoint never refers to data that is not on the
+     * disk.
+     */
+    private BulkCheckpoint checkpoint(long inputOffset) throws IOException {
+        output.sync();
+        if (quarantine != null) {
+            quarantine.sync();
+        }
+        final BulkCheckpoint checkpoint = progress(inputOffset);
+        checkpoint.write(checkpointFile);
+        return checkpoint;
+    }
+
+    private OutputFile openOutput(Path file, long offset) throws IOException {
+        return new OutputFile(channels.open(file), file, offset);
+    }
+
+    /**
+     * Opens the output and quarantine files for writing.
+     */
+    interface ChannelOpener {
+        FileChannel open(Path file) throws IOException;
+    }
+
+    /**
+     * A buffered file written from an offset, dropping whatever was after it.
+     */
+    private static final class OutputFile implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int length;
+        // the offset of the end of the flushed bytes
+        long offset;
+
+        OutputFile(FileChannel channel, Path file, long offset) throws IOException {
+            this.channel = channel;
+            if (offset > channel.size()) {
+                channel.close();
+                throw new IOException("Checkpoint offset " + offset + " is past the end of " + file);
+            }
+            // drops whatever was written after the checkpoint, or the previous output
+            channel.truncate(offset);
+            channel.position(offset);
+            this.offset = offset;
+        }
+
+        void write(byte b) throws IOException {
+            if (length == buffer.length) {
+                flush();
+            }
+            buffer[length++] = b;
+        }
+
+        void write(byte[] bytes, int off, int len) throws IOException {
+            while (len > 0) {
+                if (length == buffer.length) {
+                    flush();
+                }
+                final int n = Math.min(len, buffer.length - length);
+                System.arraycopy(bytes, off, buffer, length, n);
+                length += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        /**
+         * Writes a number in decimal.
+         */
+        void write(long n) throws IOException {
+            if (n >= 10) {
+                write(n / 10);
+            }
+            write((byte) ('0' + n % 10));
+        }
+
+        /**
+         * Writes a part, encoded in UTF-8.
+         */
+        void write(NameParts parts, NamePart part) throws IOException {
+            final int partLength = parts.length(part);
+            for (int i = 0; i < partLength; i++) {
+                final char c = parts.charAt(part, i);
+                if (c < 0x80) {
+                    write((byte) c);
+                } else if (c < 0x800) {
+                    write((byte) (0xc0 | c >> 6));
+                    write((byte) (0x80 | c & 0x3f));
+                } else if (Character.isHighSurrogate(c) && i + 1 < partLength
+                        && Character.isLowSurrogate(parts.charAt(part, i + 1))) {
+                    final int cp = Character.toCodePoint(c, parts.charAt(part, ++i));
+                    write((byte) (0xf0 | cp >> 18));
+                    write((byte) (0x80 | cp >> 12 & 0x3f));
+                    write((byte) (0x80 | cp >> 6 & 0x3f));
+                    write((byte) (0x80 | cp & 0x3f));
+                } else if (Character.isSurrogate(c)) {
+                    write((byte) '?');
+                } else {
+                    write((byte) (0xe0 | c >> 12));
+                    write((byte) (0x80 | c >> 6 & 0x3f));
+                    write((byte) (0x80 | c & 0x3f));
+                }
+            }
+        }
+
+        void flush() throws IOException {
+            final ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, length);
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            offset += length;
+            length = 0;
+        }
+
+        void sync() throws IOException {
+            flush();
+            channel.force(false);
+        }
+
+        /**
+         * Appends a file.
+         */
+        void append(Path file) throws IOException {
+            flush();
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                final long size = in.size();
+                long position = 0;
+                while (position < size) {
+                    position += in.transferTo(position, size - position, channel);
+                }
+                offset += size;
+            }
+        }
+
+        /**
+         * Appends a quarantine file, adding an offset to the line number at the
+         * start of each of its lines.
+         */
+        void appendQuarantine(Path file, long lineOffset) throws IOException {
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                final byte[] bytes = new byte[BUFFER_SIZE];
+                boolean lineStart = true;
+                long line = 0;
+                int read;
+                while ((read = in.read(ByteBuffer.wrap(bytes))) >= 0) {
+                    for (int i = 0; i < read; i++) {
+                        final byte b = bytes[i];
+                        if (lineStart) {
+                            if (b >= '0' && b <= '9') {
+                                line = line * 10 + b - '0';
+                                continue;
+                            }
+                            write(line + lineOffset);
+                            line = 0;
+                            lineStart = false;
+                        }
+                        write(b);
+                        lineStart = b == '\n';
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
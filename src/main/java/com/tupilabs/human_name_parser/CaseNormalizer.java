@@ -0,0 +1,279 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Normalizes the case of the parts of names written in all caps or all
+ * lowercase, like "BJORN C. O'MALLEY-MUNOZ", in place in the chars of the
+ * parts, as they are chopped off the name. A part with both upper and lower
+ * case letters is assumed to be written correctly, and kept as is.</p>
+ *
+ * <ul>
+ * <li>Each word is capitalized, as are the words after a hyphen, a dot
+ * or an apostrophe ("O'Malley-Munoz", "B.J."), and after a leading "Mc" or "Mac"
+ * ("McDonald", "MacLeod").</li>
+ * <li>The prefixes and conjunctions of the grammar in the last name are
+ * lowercase, unless they are its last word ("van der Berg", but "Le").</li>
+ * <li>The suffixes and postnominals of the grammar have their canonical case,
+ * whatever the case of the rest of the name: "PhD", "MSc", "Jr.", "III".</li>
+ * </ul>
+ *
+ * <p>The chars are only replaced by their upper or lower case, so the parts
+ * keep their length. This class is immutable and thread-safe.</p>
+ *
+ * @since 0.4
+ */
+final class CaseNormalizer {
+
+    /**
+     * The postnominals whose canonical case is neither all caps nor capitalized.
+     */
+    private static final Map<String, String> MIXED_CASE = new HashMap<>();
+
+    static {
+        for (String value : new String[] {
+            "PhD", "Ph.D.", "Ph.D", "Esq", "Esquire", "RPh", "MSc", "BSc", "EdD", "DPhil"
+        }) {
+            MIXED_CASE.put(value.toLowerCase(Locale.ROOT), value);
+        }
+    }
+
+    /** The letters after "Mac" starting a capitalized word, e.g. MacDonald, but not Machado or Mackey. */
+    private static final String MAC_LETTERS = "dglmnpqrt";
+
+    /** A metacharacter escaped in a value of the grammar, e.g. the dot of "jr\\.". */
+    private static final Pattern ESCAPED = Pattern.compile("\\\\([^\\p{Alnum}])");
+
+    /** The lowercase words of the prefixes and conjunctions. */
+    private final StringDictionary prefixes = new StringDictionary();
+    /** The lowercase suffixes and postnominals, without their trailing dots. */
+    private final StringDictionary canonical = new StringDictionary();
+    private final char[][] canonicalChars;
+
+    CaseNormalizer(List<String> prefixes, List<String> conjunctions, List<String> suffixes,
+            List<String> postnominals) {
+        addWords(prefixes);
+        addWords(conjunctions);
+        final Map<String, String> forms = new HashMap<>();
+        for (String suffix : suffixes) {
+            final String key = key(suffix);
+            forms.put(key, isRoman(key) ? upperCase(key) : capitalize(key));
+        }
+        for (String postnominal : postnominals) {
+            final String key = key(postnominal);
+            final String form = MIXED_CASE.get(key);
+            forms.put(key, form != null ? form : upperCase(key));
+        }
+        final char[][] chars = new char[forms.size()][];
+        for (Map.Entry<String, String> form : forms.entrySet()) {
+            final char[] key = form.getKey().toCharArray();
+            chars[canonical.add(key, 0, key.length)] = form.getValue().toCharArray();
+        }
+        this.canonicalChars = chars;
+    }
+
+    private void addWords(List<String> values) {
+        for (String value : values) {
+            for (String word : unescape(value).toLowerCase(Locale.ROOT).split(" ")) {
+                if (!word.isEmpty()) {
+                    final char[] chars = word.toCharArray();
+                    prefixes.add(chars, 0, chars.length);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the lookup key of a suffix or postnominal of the grammar: lowercase,
+     * with literal dots, and without trailing dots, except the ones of a value
+     * in {@link #MIXED_CASE} like "ph.d.".
+     */
+    private static String key(String value) {
+        String key = unescape(value).toLowerCase(Locale.ROOT);
+        if (!MIXED_CASE.containsKey(key)) {
+            int end = key.length();
+            while (end > 0 && key.charAt(end - 1) == '.') {
+                end--;
+            }
+            key = key.substring(0, end);
+        }
+        return key;
+    }
+
+    /**
+     * Turns a value of the grammar, a regex with escaped dots or other
+     * metacharacters, back to a literal.
+     */
+    private static String unescape(String value) {
+        return ESCAPED.matcher(value).replaceAll("$1");
+    }
+
+    private static boolean isRoman(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if ("ivxlcdm".indexOf(value.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return !value.isEmpty();
+    }
+
+    /**
+     * Same as {@link String#toUpperCase()}, but by char, keeping the length.
+     */
+    private static String upperCase(String value) {
+        final char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toUpperCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static String capitalize(String value) {
+        return value.isEmpty() ? value : Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    /**
+     * Normalizes the case of a part.
+     * @param part the part
+     * @param chars the chars holding the part
+     * @param start the start index, inclusive
+     * @param end the end index, exclusive
+     */
+    void normalize(NamePart part, char[] chars, int start, int end) {
+        if (part == NamePart.SUFFIX || part == NamePart.POSTNOMINAL) {
+            normalizeCanonical(part, chars, start, end);
+            return;
+        }
+        if (isMixedCase(chars, start, end)) {
+            return;
+        }
+        int wordStart = start;
+        while (wordStart < end) {
+            int wordEnd = wordStart;
+            while (wordEnd < end && chars[wordEnd] != ' ') {
+                wordEnd++;
+            }
+            if (wordEnd > wordStart) {
+                lowerCase(chars, wordStart, wordEnd);
+                final boolean prefix = part == NamePart.LAST && wordEnd < end
+                        && prefixes.find(chars, wordStart, wordEnd) >= 0;
+                if (!prefix) {
+                    capitalize(chars, wordStart, wordEnd);
+                }
+            }
+            wordStart = wordEnd + 1;
+        }
+    }
+
+    private void normalizeCanonical(NamePart part, char[] chars, int start, int end) {
+        lowerCase(chars, start, end);
+        int id = canonical.find(chars, start, end);
+        if (id < 0) {
+            // "Jr." for "jr"
+            int keyEnd = end;
+            while (keyEnd > start && chars[keyEnd - 1] == '.') {
+                keyEnd--;
+            }
+            id = canonical.find(chars, start, keyEnd);
+        }
+        if (id >= 0) {
+            final char[] form = canonicalChars[id];
+            System.arraycopy(form, 0, chars, start, form.length);
+        } else if (part == NamePart.SUFFIX) {
+            capitalize(chars, start, end);
+        } else {
+            for (int i = start; i < end; i++) {
+                chars[i] = Character.toUpperCase(chars[i]);
+            }
+        }
+    }
+
+    private static boolean isMixedCase(char[] chars, int start, int end) {
+        boolean upper = false;
+        boolean lower = false;
+        for (int i = start; i < end; i++) {
+            upper |= Character.isUpperCase(chars[i]);
+            lower |= Character.isLowerCase(chars[i]);
+        }
+        return upper && lower;
+    }
+
+    private static void lowerCase(char[] chars, int start, int end) {
+        for (int i = start; i < end; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+    }
+
+    /**
+     * Capitalizes a lowercase word, and each segment after a hyphen or a dot
+     * ("B.J."), or after
+     * an apostrophe followed by at least two letters ("O'Malley", not "Bjorn's").
+     */
+    private static void capitalize(char[] chars, int start, int end) {
+        int segment = start;
+        for (int i = start; i < end; i++) {
+            final char c = chars[i];
+            if (c == '-' || c == '.') {
+                segment = i + 1;
+            } else if ((c == '\'' || c == '\u2019') && i + 2 < end
+                    && Character.isLetter(chars[i + 1]) && Character.isLetter(chars[i + 2])) {
+                segment = i + 1;
+            } else if (i == segment && Character.isLetter(c)) {
+                chars[i] = Character.toUpperCase(c);
+                capitalizeAfterMc(chars, i, end);
+            }
+        }
+    }
+
+    private static void capitalizeAfterMc(char[] chars, int start, int end) {
+        int rest = -1;
+        if (startsWith(chars, start, end, "Mc") && end - start >= 4) {
+            rest = start + 2;
+        } else if (startsWith(chars, start, end, "Mac") && end - start >= 7
+                && MAC_LETTERS.indexOf(chars[start + 3]) >= 0) {
+            rest = start + 3;
+        }
+        if (rest >= 0 && Character.isLetter(chars[rest + 1])) {
+            chars[rest] = Character.toUpperCase(chars[rest]);
+        }
+    }
+
+    private static boolean startsWith(char[] chars, int start, int end, String prefix) {
+        if (end - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (chars[start + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
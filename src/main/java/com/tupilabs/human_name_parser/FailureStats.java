@@ -0,0 +1,298 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>The failures of a bulk run: a count per {@link FailureReason}, and a
+ * bounded sample of the failed names of each reason, to triage the failures
+ * without scanning all the rejected names.</p>
+ *
+ * <p>The samples are drawn with reservoir sampling, so that each failure of a
+ * reason has the same chance to be kept, however many there are, and the memory
+ * used does not grow with the number of failures.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @since 0.4
+ */
+public final class FailureStats {
+
+    private static final FailureReason[] REASONS = FailureReason.values();
+
+    /**
+     * A failed name.
+     */
+    public static final class Sample {
+
+        private final long row;
+        private final FailureReason reason;
+        private final String input;
+
+        Sample(long row, FailureReason reason, String input) {
+            this.row = row;
+            this.reason = reason;
+            this.input = input;
+        }
+
+        /**
+         * Gets the line number of the name in the input, starting at 1.
+         * @return the line number, or {@code 0} if unknown
+         */
+        public long getRow() {
+            return row;
+        }
+
+        public FailureReason getReason() {
+            return reason;
+        }
+
+        public String getInput() {
+            return input;
+        }
+
+        @Override
+        public String toString() {
+            return row + "|" + reason + "|" + input;
+        }
+    }
+
+    private final int samplesPerReason;
+    private final long[] counts = new long[REASONS.length];
+    // the failures seen by the reservoirs, which do not include the restored counts
+    private final long[] seen = new long[REASONS.length];
+    private final Sample[][] samples;
+    private final Random random;
+
+    /**
+     * Create empty failure stats.
+     * @param samplesPerReason how many failed names to keep for each reason
+     */
+    public FailureStats(int samplesPerReason) {
+        this(samplesPerReason, 0);
+    }
+
+    /**
+     * Create empty failure stats, sampling with a seed.
+     * @param samplesPerReason how many failed names to keep for each reason
+     * @param seed the seed of the sampling
+     */
+    FailureStats(int samplesPerReason, long seed) {
+        if (samplesPerReason < 0) {
+            throw new IllegalArgumentException("Invalid number of samples: " + samplesPerReason);
+        }
+        this.samplesPerReason = samplesPerReason;
+        this.samples = new Sample[REASONS.length][samplesPerReason];
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Adds to the counts, e.g. the counts of a checkpoint to resume from. No
+     * samples are added.
+     * @param reason the reason
+     * @param count the number of failures
+     */
+    synchronized void addCount(FailureReason reason, long count) {
+        counts[reason.ordinal()] += count;
+    }
+
+    /**
+     * Records a failure. The input is only decoded when the failure is sampled.
+     * @param row the line number of the name
+     * @param reason the reason
+     * @param input the UTF-8 encoded input
+     * @param offset the offset of the name in the input
+     * @param length the length of the name, in bytes
+     */
+    synchronized void add(long row, FailureReason reason, byte[] input, int offset, int length) {
+        final int slot = count(reason);
+        if (slot >= 0) {
+            samples[reason.ordinal()][slot] = new Sample(row, reason,
+                    new String(input, offset, length, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Records a failure. The input is only copied when the failure is sampled.
+     * @param row the line number of the name, or {@code 0} if unknown
+     * @param reason the reason
+     * @param input the name
+     */
+    synchronized void add(long row, FailureReason reason, CharSequence input) {
+        final int slot = count(reason);
+        if (slot >= 0) {
+            samples[reason.ordinal()][slot] = new Sample(row, reason, input.toString());
+        }
+    }
+
+    /**
+     * Counts a failure, and picks the slot of its sample.
+     * @param reason the reason
+     * @return the slot, or {@code -1} if the failure is not sampled
+     */
+    private int count(FailureReason reason) {
+        final int r = reason.ordinal();
+        counts[r]++;
+        final long n = ++seen[r];
+        if (n <= samplesPerReason) {
+            return (int) (n - 1);
+        } else if (samplesPerReason > 0) {
+            final long candidate = (long) (random.nextDouble() * n);
+            if (candidate < samplesPerReason) {
+                return (int) candidate;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds the failures of other stats, e.g. of another thread. The samples of
+     * both are drawn from in proportion to the failures each has seen, so the
+     * merged samples are still uniform over all the failures.
+     * @param other the other stats
+     */
+    void merge(FailureStats other) {
+        merge(other, 0);
+    }
+
+    /**
+     * Adds the failures of other stats, whose rows start after a number of
+     * rows, e.g. of a later range of the input.
+     * @param other the other stats
+     * @param rowOffset the number of rows before the rows of the other stats
+     */
+    void merge(FailureStats other, long rowOffset) {
+        final long[] otherCounts;
+        final long[] otherSeen;
+        final Sample[][] otherSamples;
+        synchronized (other) {
+            otherCounts = other.counts.clone();
+            otherSeen = other.seen.clone();
+            otherSamples = new Sample[REASONS.length][];
+            for (int r = 0; r < REASONS.length; r++) {
+                otherSamples[r] = other.samples[r].clone();
+                for (int i = 0; i < otherSamples[r].length; i++) {
+                    final Sample sample = otherSamples[r][i];
+                    if (rowOffset != 0 && sample != null && sample.row > 0) {
+                        otherSamples[r][i] = new Sample(sample.row + rowOffset, sample.reason, sample.input);
+                    }
+                }
+            }
+        }
+        synchronized (this) {
+            for (int r = 0; r < REASONS.length; r++) {
+                counts[r] += otherCounts[r];
+                samples[r] = mergeSamples(samples[r], seen[r], otherSamples[r], otherSeen[r]);
+                seen[r] += otherSeen[r];
+            }
+        }
+    }
+
+    private Sample[] mergeSamples(Sample[] mine, long mineSeen, Sample[] theirs, long theirsSeen) {
+        final List<Sample> a = shuffled(mine);
+        final List<Sample> b = shuffled(theirs);
+        final Sample[] merged = new Sample[samplesPerReason];
+        int i = 0;
+        int ia = 0;
+        int ib = 0;
+        while (i < merged.length && (ia < a.size() || ib < b.size())) {
+            final boolean fromMine = ib >= b.size()
+                    || ia < a.size() && random.nextDouble() * (mineSeen + theirsSeen) < mineSeen;
+            if (fromMine) {
+                merged[i++] = a.get(ia++);
+                mineSeen--;
+            } else {
+                merged[i++] = b.get(ib++);
+                theirsSeen--;
+            }
+        }
+        return merged;
+    }
+
+    private List<Sample> shuffled(Sample[] reservoir) {
+        final List<Sample> list = new ArrayList<>(reservoir.length);
+        for (Sample sample : reservoir) {
+            if (sample != null) {
+                list.add(sample);
+            }
+        }
+        Collections.shuffle(list, random);
+        return list;
+    }
+
+    /**
+     * Gets the number of failures for a reason.
+     * @param reason the reason
+     * @return the number of failures
+     */
+    public synchronized long getCount(FailureReason reason) {
+        return counts[reason.ordinal()];
+    }
+
+    /**
+     * Gets the total number of failures.
+     * @return the number of failures
+     */
+    public synchronized long getTotal() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the sampled failures for a reason, in row order.
+     * @param reason the reason
+     * @return the samples
+     */
+    public synchronized List<Sample> getSamples(FailureReason reason) {
+        final List<Sample> list = new ArrayList<>();
+        for (Sample sample : samples[reason.ordinal()]) {
+            if (sample != null) {
+                list.add(sample);
+            }
+        }
+        list.sort((a, b) -> Long.compare(a.row, b.row));
+        return Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public synchronized String toString() {
+        final StringBuilder sb = new StringBuilder("FailureStats[");
+        boolean first = true;
+        for (FailureReason reason : REASONS) {
+            if (counts[reason.ordinal()] > 0) {
+                sb.append(first ? "" : ", ").append(reason).append('=').append(counts[reason.ordinal()]);
+                first = false;
+            }
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <p>The salutations, postnominals, prefixes, suffixes and conjunctions of the
+ * names of a locale.</p>
+ *
+ * <p>Grammar packs are discovered with {@code java.util.ServiceLoader}. To add a
+ * pack, implement this interface (with a public no-args constructor) and list the
+ * class in a {@code META-INF/services/com.tupilabs.human_name_parser.GrammarPack}
+ * file. The values are literal words, not regexes, and are case-insensitive.</p>
+ *
+ * @since 0.4
+ * @see GrammarPacks
+ */
+public interface GrammarPack {
+
+    /**
+     * Gets the locale of the pack. Packs for a language, like {@code es}, are
+     * also used for the regions of the language, like {@code es-MX}, that do not
+     * have a pack of their own.
+     *
+     * @return the locale
+     */
+    Locale getLocale();
+
+    /**
+     * Gets the salutations, like "mr" or "mme".
+     * @return the salutations
+     */
+    List<String> getSalutations();
+
+    /**
+     * Gets the postnominals, like "phd".
+     * @return the postnominals
+     */
+    List<String> getPostnominals();
+
+    /**
+     * Gets the last name prefixes, like "van der" or "dos".
+     * @return the prefixes
+     */
+    List<String> getPrefixes();
+
+    /**
+     * Gets the suffixes, like "jr" or "filho".
+     * @return the suffixes
+     */
+    List<String> getSuffixes();
+
+    /**
+     * Gets the words joining compound last names, like "y" in "Ortega y Gasset".
+     * @return the conjunctions
+     */
+    List<String> getConjunctions();
+
+}
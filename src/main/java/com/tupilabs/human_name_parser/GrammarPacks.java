@@ -0,0 +1,128 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Logger;
+
+/**
+ * <p>Gives the compiled {@code NameGrammar} of a locale, from the {@code GrammarPack}s
+ * found with {@code java.util.ServiceLoader}.</p>
+ *
+ * <p>Packs are only discovered the first time a grammar is requested, and the
+ * regexes of a pack are only compiled the first time its locale is requested.
+ * Each grammar holds the values of a single pack, so the cost of parsing a name
+ * depends only on the selected locale.</p>
+ *
+ * <p>The lookup tries the language tag of the locale (e.g. {@code pt-BR}), then
+ * its language (e.g. {@code pt}). Locales without a pack use
+ * {@link NameGrammar#defaultGrammar()}.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @since 0.4
+ * @see BuiltInGrammarPacks
+ */
+public final class GrammarPacks {
+
+    private static final Logger LOGGER = Logger.getLogger(GrammarPacks.class.getName());
+
+    private static final ConcurrentMap<Locale, NameGrammar> GRAMMARS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<GrammarPack, NameGrammar> PACK_GRAMMARS = new ConcurrentHashMap<>();
+
+    private GrammarPacks() {
+    }
+
+    /**
+     * Gets the grammar of a locale, compiling it on first use.
+     *
+     * @param locale the locale
+     * @return the grammar
+     */
+    public static NameGrammar grammarFor(Locale locale) {
+        Objects.requireNonNull(locale);
+        final NameGrammar grammar = GRAMMARS.get(locale);
+        if (grammar != null) {
+            return grammar;
+        }
+        return GRAMMARS.computeIfAbsent(locale, GrammarPacks::compile);
+    }
+
+    /**
+     * Gets the pack of a locale.
+     *
+     * @param locale the locale
+     * @return the pack, or {@code null} if there is no pack for the locale or its language
+     */
+    public static GrammarPack packFor(Locale locale) {
+        Objects.requireNonNull(locale);
+        GrammarPack pack = Registry.PACKS.get(locale.toLanguageTag().toLowerCase(Locale.ROOT));
+        if (pack == null) {
+            pack = Registry.PACKS.get(locale.getLanguage().toLowerCase(Locale.ROOT));
+        }
+        return pack;
+    }
+
+    private static NameGrammar compile(Locale locale) {
+        final GrammarPack pack = packFor(locale);
+        if (pack == null) {
+            return NameGrammar.defaultGrammar();
+        }
+        // locales sharing a pack share the grammar too
+        return PACK_GRAMMARS.computeIfAbsent(pack, p -> new NameGrammar(
+                NameGrammar.quoteToRegex(p.getSalutations()),
+                NameGrammar.quoteToRegex(p.getPostnominals()),
+                NameGrammar.quoteToRegex(p.getPrefixes()),
+                NameGrammar.quoteToRegex(p.getSuffixes()),
+                NameGrammar.quoteToRegex(p.getConjunctions())));
+    }
+
+    /**
+     * The packs found with {@code ServiceLoader}, keyed by lower case language tag.
+     * Loaded on first use.
+     */
+    private static final class Registry {
+
+        private static final Map<String, GrammarPack> PACKS = load();
+
+        private static Map<String, GrammarPack> load() {
+            final Map<String, GrammarPack> packs = new HashMap<>();
+            for (GrammarPack pack : ServiceLoader.load(GrammarPack.class, GrammarPacks.class.getClassLoader())) {
+                final String tag = pack.getLocale().toLanguageTag().toLowerCase(Locale.ROOT);
+                final GrammarPack previous = packs.put(tag, pack);
+                if (previous != null) {
+                    LOGGER.warning(String.format("Grammar pack %s replaces %s for locale %s",
+                            pack.getClass().getName(), previous.getClass().getName(), tag));
+                }
+            }
+            return packs;
+        }
+    }
+}
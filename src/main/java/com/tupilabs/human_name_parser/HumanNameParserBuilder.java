@@ -23,11 +23,17 @@
  */
 package com.tupilabs.human_name_parser;
 
+import org.apache.commons.lang3.StringUtils;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 /**
  * A builder to construct {@code HumanNameParserParser}.
@@ -103,6 +109,7 @@ public final class HumanNameParserBuilder {
                     "v",
                     "senior",
                     "junior"));
+    public static final List<String> DEFAULT_CONJUNCTIONS = Collections.singletonList("y");
 
     // build values
     private final Name name;
@@ -110,6 +117,9 @@ public final class HumanNameParserBuilder {
     private List<String> postnominals;
     private List<String> prefixes;
     private List<String> suffixes;
+    private Locale locale;
+    private Set<NamePart> parts;
+    private PartInterner interner;
 
     /**
      * Create the parser builder for a name.
@@ -136,35 +146,217 @@ public final class HumanNameParserBuilder {
      * @return a {@code HumanNameParserParser}
      */
     public HumanNameParserParser build() {
+        final HumanNameParserParser parser = new HumanNameParserParser(name, buildGrammar());
+        parse(parser);
+        return parser;
+    }
+
+    /**
+     * <p>Build one parser for each person found in the name, for inputs like
+     * {@code "John and Jane Smith"}, {@code "Dr. A. Jones & Mr. B. Jones"} or
+     * {@code "Smith, John; Doe, Jane"}.</p>
+     *
+     * <p>People are separated by {@code ;}, {@code &} or {@code and}. A person
+     * with only a first name shares the last name of the next person (e.g.
+     * "John Smith" and "Jane Smith"), and a person with only a salutation
+     * shares the whole name of the next person (e.g. "Mr. John Smith" and
+     * "Mrs. John Smith" for {@code "Mr. and Mrs. John Smith"}).</p>
+     *
+     * <p>With {@link #withParts(Set)}, every person is parsed in full, so that
+     * the next person can borrow any part, and the parts that were not requested
+     * are emptied afterwards.</p>
+     *
+     * @return a {@code HumanNameParserParser} per person, in the order they appear
+     * @throws ParseException if the parser fails to retrieve the name parts of a person
+     * @since 0.4
+     */
+    public List<HumanNameParserParser> buildAll() {
+        final NameGrammar grammar = buildGrammar();
+        final List<String> people = NameSplitter.split(name.getStr());
+        final Pattern salutationPattern = Pattern.compile(
+                "(?i)^(" + StringUtils.join(salutations, "\\.*|") + "\\.*)$");
+        final HumanNameParserParser[] parsers = new HumanNameParserParser[people.size()];
+        // right to left, so that the people sharing a name are parsed after the
+        // person they borrow it from
+        HumanNameParserParser donor = null;
+        for (int i = people.size() - 1; i >= 0; i--) {
+            String person = people.get(i);
+            final int words = countWordsIgnoringSalutations(person, salutationPattern);
+            if (donor != null && words == 0) {
+                person = person + " " + joinNonBlank(donor.getLeadingInit(), donor.getFirst(),
+                        donor.getMiddle(), donor.getLast(), donor.getSuffix());
+            } else if (donor != null && words == 1) {
+                person = person + " " + donor.getLast();
+            }
+            // the full pipeline, as the next person may borrow any part of this one
+            final HumanNameParserParser parser = new HumanNameParserParser(new Name(person), grammar);
+            parser.parse();
+            parsers[i] = parser;
+            if (words > 1 && parser.getLast().length() > 0) {
+                donor = parser;
+            }
+        }
+        for (HumanNameParserParser parser : parsers) {
+            if (this.parts != null) {
+                parser.retain(this.parts);
+            }
+            if (this.interner != null) {
+                parser.intern(this.interner);
+            }
+        }
+        return Arrays.asList(parsers);
+    }
+
+    /**
+     * Build a serializable configuration with the values and parts of this
+     * builder, e.g. to send it to the workers of a distributed engine, where
+     * it creates {@code ReusableNameParser}s. The name and interner of this
+     * builder are not part of the configuration.
+     *
+     * @return the configuration
+     * @since 0.4
+     */
+    public NameParserConfig buildConfig() {
+        final NameParserConfig config = NameParserConfig.of(buildGrammar());
+        return this.parts == null ? config : config.withParts(this.parts);
+    }
+
+    private void parse(HumanNameParserParser parser) {
+        if (this.parts == null) {
+            parser.parse();
+        } else {
+            parser.parse(this.parts);
+        }
+        if (this.interner != null) {
+            parser.intern(this.interner);
+        }
+    }
+
+    /**
+     * Gets the compiled grammar for the configured values. The grammar of the
+     * locale (or the default grammar) is compiled only once and shared by every
+     * builder that does not change any of the values.
+     */
+    private NameGrammar buildGrammar() {
+        if (this.salutations == null && this.postnominals == null
+                && this.prefixes == null && this.suffixes == null) {
+            final NameGrammar grammar = this.locale == null ? NameGrammar.defaultGrammar()
+                    : GrammarPacks.grammarFor(this.locale);
+            this.salutations = grammar.getSalutations();
+            this.postnominals = grammar.getPostnominals();
+            this.prefixes = grammar.getPrefixes();
+            this.suffixes = grammar.getSuffixes();
+            return grammar;
+        }
+        final GrammarPack pack = this.locale == null ? null : GrammarPacks.packFor(this.locale);
+        if (pack == null) {
+            resolveDefaults();
+            return new NameGrammar(salutations, postnominals, prefixes, suffixes);
+        }
         if (this.salutations == null) {
-            this.salutations = formatToRegex(DEFAULT_SALUTATIONS);
+            this.salutations = NameGrammar.quoteToRegex(pack.getSalutations());
         }
         if (this.postnominals == null) {
-            this.postnominals = formatToRegex(DEFAULT_POSTNOMINALS);
+            this.postnominals = NameGrammar.quoteToRegex(pack.getPostnominals());
         }
         if (this.prefixes == null) {
-            this.prefixes = formatToRegex(DEFAULT_PREFIXES);
+            this.prefixes = NameGrammar.quoteToRegex(pack.getPrefixes());
         }
         if (this.suffixes == null) {
-            this.suffixes = formatToRegex(DEFAULT_SUFFIXES);
-        }
-        final HumanNameParserParser parser = new HumanNameParserParser(
-            name,
-            salutations,
-            postnominals,
-            prefixes,
-            suffixes
-        );
-        parser.parse();
-        return parser;
+            this.suffixes = NameGrammar.quoteToRegex(pack.getSuffixes());
+        }
+        return new NameGrammar(salutations, postnominals, prefixes, suffixes,
+                NameGrammar.quoteToRegex(pack.getConjunctions()));
     }
 
-    private List<String> formatToRegex(List<String> list) {
-        List<String> regexList = new ArrayList<>();
-        for (String s : list) {
-            regexList.add(s.replace(".", "\\."));
+    private void resolveDefaults() {
+        if (this.salutations == null) {
+            this.salutations = NameGrammar.formatToRegex(DEFAULT_SALUTATIONS);
         }
-        return regexList;
+        if (this.postnominals == null) {
+            this.postnominals = NameGrammar.formatToRegex(DEFAULT_POSTNOMINALS);
+        }
+        if (this.prefixes == null) {
+            this.prefixes = NameGrammar.formatToRegex(DEFAULT_PREFIXES);
+        }
+        if (this.suffixes == null) {
+            this.suffixes = NameGrammar.formatToRegex(DEFAULT_SUFFIXES);
+        }
+    }
+
+    private static int countWordsIgnoringSalutations(String person, Pattern salutationPattern) {
+        int words = 0;
+        for (String word : StringUtils.split(person)) {
+            if (!salutationPattern.matcher(word).matches()) {
+                words++;
+            }
+        }
+        return words;
+    }
+
+    private static String joinNonBlank(String... parts) {
+        final StringBuilder sb = new StringBuilder();
+        for (String part : parts) {
+            if (StringUtils.isNotBlank(part)) {
+                if (sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(part);
+            }
+        }
+        return sb.toString();
+    }
+
+    // locale
+
+    /**
+     * Use the grammar pack of a locale, instead of the default values, for the
+     * values that are not set with the other methods of the builder.
+     *
+     * @param locale the locale
+     * @return this builder
+     * @since 0.4
+     * @see GrammarPacks
+     */
+    public HumanNameParserBuilder withLocale(Locale locale) {
+        Objects.requireNonNull(locale);
+        this.locale = locale;
+        return this;
+    }
+
+    // parts
+
+    /**
+     * Extract only some parts of the name, e.g. only the {@code LAST} name. The
+     * parser skips the stages after the last requested part, and leaves the other
+     * parts empty.
+     *
+     * @param parts the parts to extract
+     * @return this builder
+     * @since 0.4
+     * @see ReusableNameParser#parse(Set, NameParts)
+     */
+    public HumanNameParserBuilder withParts(Set<NamePart> parts) {
+        Objects.requireNonNull(parts);
+        this.parts = parts.isEmpty() ? EnumSet.noneOf(NamePart.class) : EnumSet.copyOf(parts);
+        return this;
+    }
+
+    // interner
+
+    /**
+     * Replaces the parts of the parsed names with the equal {@code String}s of an
+     * interner, shared by the builders, so that the parsers kept in memory share
+     * the {@code String}s of repeated parts.
+     *
+     * @param interner the interner
+     * @return this builder
+     * @since 0.4
+     */
+    public HumanNameParserBuilder withInterner(PartInterner interner) {
+        Objects.requireNonNull(interner);
+        this.interner = interner;
+        return this;
     }
 
     // salutations
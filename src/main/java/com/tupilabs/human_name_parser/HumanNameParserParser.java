@@ -25,7 +25,10 @@ package com.tupilabs.human_name_parser;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 /**
  * <p>
@@ -67,16 +70,18 @@ public class HumanNameParserParser {
     private String salutation;
     private String postnominal;
     
-    HumanNameParserParser(final Name name,
-            List<String> salutations,
-            List<String> postnominals,
-            List<String> prefixes,
-            List<String> suffixes) {
+    /**
+     * The compiled regexes.
+     */
+    private final NameGrammar grammar;
+
+    HumanNameParserParser(final Name name, final NameGrammar grammar) {
         this.name = name;
-        this.salutations = salutations;
-        this.postnominals = postnominals;
-        this.prefixes = prefixes;
-        this.suffixes = suffixes;
+        this.grammar = grammar;
+        this.salutations = grammar.getSalutations();
+        this.postnominals = grammar.getPostnominals();
+        this.prefixes = grammar.getPrefixes();
+        this.suffixes = grammar.getSuffixes();
     }
 
     /**
@@ -129,58 +134,128 @@ public class HumanNameParserParser {
      *             if the parser fails to retrieve the name parts
      */
     void parse() throws ParseException {
-        String suffixes = StringUtils.join(this.suffixes, "\\.*|") + "\\.*";
-        String postnominals = StringUtils.join(this.postnominals, "\\.*|") + "\\.*";
-        String salutations = StringUtils.join(this.salutations, "\\.*|") + "\\.*";
-        String prefixes = StringUtils.join(this.prefixes, " |") + " ";
-
-        // The regex use is a bit tricky. *Everything* matched by the regex will be
-        // replaced,
-        // but you can select a particular parenthesized submatch to be returned.
-        // Also, note that each regex requires that the preceding ones have been run,
-        // and matches chopped out.
-        String nicknamesRegex = "(?i) ('|\\\"|\\(\\\"*'*)(.+?)('|\\\"|\\\"*'*\\)) "; // names that starts or end w/ an
-                                                                                     // apostrophe break this
-        String suffixRegex = "(?i)[,| ]+((" + suffixes + ")$)";
-        String postnominalRegex = "(?i)[,| ]+((" + postnominals + ")$)";
-        String lastRegex = "(?i)(?!^)\\b([^ ]+ y |" + prefixes + ")*[^ ]+$";
-        String leadingInitRegex = "(?i)(^(.\\.*)(?= \\p{L}{2}))"; // note the lookahead, which isn't returned or
-                                                                  // replaced
-        String salutationsRegex = "(?i)^(" + salutations + "\\b)(\\.|\\s)+"; // salutation plus a word boundary \b
-        String firstRegex = "(?i)^([^ ]+)";
+        parse(EnumSet.allOf(NamePart.class));
+    }
+
+    /**
+     * Consumes the string and creates only the requested name parts. The stages
+     * after the last requested part are skipped, and the parts that were not
+     * requested are left empty.
+     *
+     * @param parts the parts to create
+     * @throws ParseException
+     *             if the parser fails to retrieve the name parts
+     * @see ReusableNameParser#parse(Set, NameParts)
+     */
+    void parse(Set<NamePart> parts) throws ParseException {
+        this.leadingInit = "";
+        this.first = "";
+        this.nicknames = "";
+        this.middle = "";
+        this.last = "";
+        this.suffix = "";
+        this.salutation = "";
+        this.postnominal = "";
+
+        final int stages = ReusableNameParser.lastStage(parts);
+        if (stages < 1) {
+            return;
+        }
 
         // get nickname, if there is one
-        this.nicknames = this.name.chopWithRegex(nicknamesRegex, 2);
+        this.nicknames = chop(grammar.nicknames, 2, NamePart.NICKNAMES, parts);
+        if (stages < 2) {
+            return;
+        }
 
         // get postnominal, if there is one
-        this.postnominal = this.name.chopWithRegex(postnominalRegex, 1);
+        this.postnominal = chop(grammar.postnominal, 1, NamePart.POSTNOMINAL, parts);
+        if (stages < 3) {
+            return;
+        }
 
         // get suffix, if there is one
-        this.suffix = this.name.chopWithRegex(suffixRegex, 1);
+        this.suffix = chop(grammar.suffix, 1, NamePart.SUFFIX, parts);
+        if (stages < 4) {
+            return;
+        }
 
         // flip the before-comma and after-comma parts of the name
         this.name.flip(",");
 
         // get the last name
-        this.last = this.name.chopWithRegex(lastRegex, 0);
-        if (StringUtils.isBlank(this.last)) {
-            throw new ParseException("Couldn't find a last name in '{" + this.name.getStr() + "}'.");
+        final String lastName = this.name.chopWithPattern(grammar.last, 0);
+        if (StringUtils.isBlank(lastName)) {
+            throw new ParseException(FailureReason.NO_LAST_NAME,
+                    "Couldn't find a last name in '{" + this.name.getStr() + "}'.");
+        }
+        this.last = keep(lastName, NamePart.LAST, parts);
+        if (stages < 5) {
+            return;
         }
 
         // get salutation, if there is one
-        this.salutation = this.name.chopWithRegex(salutationsRegex, 1);
+        this.salutation = chop(grammar.salutation, 1, NamePart.SALUTATION, parts);
+        if (stages < 6) {
+            return;
+        }
 
         // get the first initial, if there is one
-        this.leadingInit = this.name.chopWithRegex(leadingInitRegex, 1);
+        this.leadingInit = chop(grammar.leadingInit, 1, NamePart.LEADING_INIT, parts);
+        if (stages < 7) {
+            return;
+        }
 
         // get the first name
-        this.first = this.name.chopWithRegex(firstRegex, 0);
-        if (StringUtils.isBlank(this.first)) {
-            throw new ParseException("Couldn't find a first name in '{" + this.name.getStr() + "}'");
+        final String firstName = this.name.chopWithPattern(grammar.first, 0);
+        if (StringUtils.isBlank(firstName)) {
+            throw new ParseException(FailureReason.NO_FIRST_NAME,
+                    "Couldn't find a first name in '{" + this.name.getStr() + "}'");
+        }
+        this.first = keep(firstName, NamePart.FIRST, parts);
+        if (stages < 8) {
+            return;
         }
 
         // if anything's left, that's the middle name
         this.middle = this.name.getStr();
     }
 
+    /**
+     * Empties the parts that are not requested, after a full parse.
+     * @param parts the parts to keep
+     */
+    void retain(Set<NamePart> parts) {
+        this.leadingInit = keep(this.leadingInit, NamePart.LEADING_INIT, parts);
+        this.first = keep(this.first, NamePart.FIRST, parts);
+        this.nicknames = keep(this.nicknames, NamePart.NICKNAMES, parts);
+        this.middle = keep(this.middle, NamePart.MIDDLE, parts);
+        this.last = keep(this.last, NamePart.LAST, parts);
+        this.suffix = keep(this.suffix, NamePart.SUFFIX, parts);
+        this.salutation = keep(this.salutation, NamePart.SALUTATION, parts);
+        this.postnominal = keep(this.postnominal, NamePart.POSTNOMINAL, parts);
+    }
+
+    /**
+     * Replaces the parts with the equal {@code String}s of an interner.
+     */
+    void intern(PartInterner interner) {
+        this.leadingInit = interner.intern(this.leadingInit);
+        this.first = interner.intern(this.first);
+        this.nicknames = interner.intern(this.nicknames);
+        this.middle = interner.intern(this.middle);
+        this.last = interner.intern(this.last);
+        this.suffix = interner.intern(this.suffix);
+        this.salutation = interner.intern(this.salutation);
+        this.postnominal = interner.intern(this.postnominal);
+    }
+
+    private String chop(Pattern pattern, int submatchIndex, NamePart part, Set<NamePart> parts) {
+        return keep(this.name.chopWithPattern(pattern, submatchIndex), part, parts);
+    }
+
+    private static String keep(String value, NamePart part, Set<NamePart> parts) {
+        return parts.contains(part) ? value : "";
+    }
+
 }
@@ -77,8 +77,20 @@ public class Name {
      * @return the part of the namestring that got chopped off
      */
     public String chopWithRegex(String regex, int submatchIndex) {
+        return chopWithPattern(Pattern.compile(regex), submatchIndex);
+    }
+
+    /**
+     * Same as {@link #chopWithRegex(String, int)}, but with a compiled regex, so that
+     * it can be reused across names.
+     *
+     * @param pattern matches the part of the namestring to chop off
+     * @param submatchIndex which of the parenthesized submatches to use
+     * @return the part of the namestring that got chopped off
+     * @since 0.4
+     */
+    public String chopWithPattern(Pattern pattern, int submatchIndex) {
         String chopped = "";
-        Pattern pattern = Pattern.compile(regex);
         Matcher matcher = pattern.matcher(this.str);
 
         // workaround for numReplacements in Java
@@ -87,16 +99,16 @@ public class Name {
             numReplacements++;
         }
 
-        // recreate or the groups are gone
-        pattern = Pattern.compile(regex);
-        matcher = pattern.matcher(this.str); 
+        // reset or the groups are gone
+        matcher.reset();
         if (matcher.find()) {
 
             boolean subset = matcher.groupCount() > submatchIndex;
             if (subset) {
-                this.str = this.str.replaceAll(regex, " ");
+                this.str = pattern.matcher(this.str).replaceAll(" ");
                 if (numReplacements > 1) {
-                    throw new ParseException("The regex being used to find the name has multiple matches.");
+                    throw new ParseException(FailureReason.MULTIPLE_MATCHES,
+                            "The regex being used to find the name has multiple matches.");
                 }
                 this.norm();
                 return matcher.group(submatchIndex).trim();
@@ -119,7 +131,8 @@ public class Name {
             this.str = String.format("%s %s", parts[1], parts[0]);
             this.norm();
         } else if (parts.length > 2) {
-            throw new ParseException("Can't flip around multiple '" + flipAroundChar + "' characters in namestring.");
+            throw new ParseException(FailureReason.MULTIPLE_COMMAS,
+                    "Can't flip around multiple '" + flipAroundChar + "' characters in namestring.");
         }
     }
 
@@ -0,0 +1,285 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <p>A growable, mutable {@code CharSequence} holding the namestring being
+ * consumed by a {@code ReusableNameParser}. It mirrors the string operations of
+ * {@code Name} (chopping, normalizing and flipping) but works in place, so that
+ * the same buffer can be reused for every name.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @since 0.4
+ */
+final class NameBuffer implements CharSequence {
+
+    char[] chars;
+    int length;
+    private char[] scratch;
+    private CharsetDecoder decoder;
+
+    NameBuffer() {
+        this.chars = new char[64];
+        this.scratch = new char[64];
+    }
+
+    /**
+     * Replaces the content of the buffer.
+     * @param input the new content
+     */
+    void load(CharSequence input) {
+        final int inputLength = input.length();
+        ensureCapacity(inputLength);
+        if (input instanceof String) {
+            ((String) input).getChars(0, inputLength, chars, 0);
+        } else {
+            for (int i = 0; i < inputLength; i++) {
+                chars[i] = input.charAt(i);
+            }
+        }
+        this.length = inputLength;
+    }
+
+    /**
+     * Replaces the content of the buffer.
+     * @param input the new content
+     * @param offset the offset of the content in {@code input}
+     * @param inputLength the length of the content
+     */
+    void load(char[] input, int offset, int inputLength) {
+        ensureCapacity(inputLength);
+        System.arraycopy(input, offset, chars, 0, inputLength);
+        this.length = inputLength;
+    }
+
+    /**
+     * Replaces the content of the buffer with UTF-8 encoded bytes. ASCII bytes are
+     * copied directly; a decoder is only used from the first non-ASCII byte on.
+     * Malformed input is replaced, as in {@code new String(bytes, UTF_8)}.
+     *
+     * @param input the new content
+     * @param offset the offset of the content in {@code input}
+     * @param inputLength the length of the content, in bytes
+     */
+    void loadUtf8(byte[] input, int offset, int inputLength) {
+        // UTF-8 never decodes to more chars than bytes
+        ensureCapacity(inputLength);
+        for (int i = 0; i < inputLength; i++) {
+            final byte b = input[offset + i];
+            if (b < 0) {
+                decodeUtf8(ByteBuffer.wrap(input, offset + i, inputLength - i), i);
+                return;
+            }
+            chars[i] = (char) b;
+        }
+        this.length = inputLength;
+    }
+
+    /**
+     * Replaces the content of the buffer with the UTF-8 encoded bytes between the
+     * position and the limit of a {@code ByteBuffer}, which are left unchanged.
+     *
+     * @param input the new content
+     * @see #loadUtf8(byte[], int, int)
+     */
+    void loadUtf8(ByteBuffer input) {
+        final int position = input.position();
+        final int inputLength = input.remaining();
+        ensureCapacity(inputLength);
+        for (int i = 0; i < inputLength; i++) {
+            final byte b = input.get(position + i);
+            if (b < 0) {
+                final ByteBuffer rest = input.duplicate();
+                rest.position(position + i);
+                decodeUtf8(rest, i);
+                return;
+            }
+            chars[i] = (char) b;
+        }
+        this.length = inputLength;
+    }
+
+    private void decodeUtf8(ByteBuffer input, int charOffset) {
+        if (decoder == null) {
+            decoder = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        final CharBuffer output = CharBuffer.wrap(chars, charOffset, chars.length - charOffset);
+        decoder.reset();
+        decoder.decode(input, output, true);
+        decoder.flush(output);
+        this.length = output.position();
+    }
+
+    /**
+     * Makes sure the buffer can hold {@code capacity} chars, discarding its content.
+     * @param capacity the minimum capacity
+     */
+    void ensureCapacity(int capacity) {
+        if (chars.length < capacity) {
+            final int newCapacity = Math.max(capacity, chars.length * 2);
+            chars = new char[newCapacity];
+            scratch = new char[newCapacity];
+        }
+    }
+
+    /**
+     * Replaces the chars between {@code start} and {@code end} by a single space.
+     * @param start the start index, inclusive
+     * @param end the end index, exclusive
+     */
+    void replaceWithSpace(int start, int end) {
+        if (start == end && length == chars.length) {
+            chars = Arrays.copyOf(chars, length * 2);
+            scratch = new char[chars.length];
+        }
+        System.arraycopy(chars, end, chars, start + 1, length - end);
+        chars[start] = ' ';
+        length -= end - start - 1;
+    }
+
+    /**
+     * Same as {@link Name#norm()}: strips whitespace chars from ends, strips
+     * redundant whitespace, converts whitespace chars to " ", and replaces a
+     * trailing comma by a space.
+     */
+    void norm() {
+        int start = 0;
+        int end = length;
+        while (start < end && chars[start] <= ' ') {
+            start++;
+        }
+        while (end > start && chars[end - 1] <= ' ') {
+            end--;
+        }
+        int written = 0;
+        boolean inWhitespace = false;
+        for (int i = start; i < end; i++) {
+            final char c = chars[i];
+            if (isRegexWhitespace(c)) {
+                if (!inWhitespace) {
+                    chars[written++] = ' ';
+                    inWhitespace = true;
+                }
+            } else {
+                chars[written++] = c;
+                inWhitespace = false;
+            }
+        }
+        length = written;
+        // ",$" also matches before a line terminator at the end of the input
+        if (length > 0 && chars[length - 1] == ',') {
+            chars[length - 1] = ' ';
+        } else if (length > 1 && chars[length - 2] == ',' && isLineTerminator(chars[length - 1])) {
+            chars[length - 2] = ' ';
+        }
+    }
+
+    /**
+     * Same as {@link Name#flip(String)} with a {@code ','}: flips the parts
+     * before and after the comma.
+     *
+     * @throws ParseException if there are multiple commas
+     */
+    void flipAroundComma() throws ParseException {
+        int commas = 0;
+        int firstComma = -1;
+        int secondComma = -1;
+        for (int i = 0; i < length; i++) {
+            if (chars[i] == ',') {
+                if (firstComma < 0) {
+                    firstComma = i;
+                } else if (secondComma < 0) {
+                    secondComma = i;
+                }
+                commas++;
+            }
+        }
+        if (commas == 0) {
+            return;
+        }
+        // String#split drops the trailing empty parts
+        int trailingCommas = 0;
+        while (trailingCommas < length && chars[length - 1 - trailingCommas] == ',') {
+            trailingCommas++;
+        }
+        final int parts = trailingCommas == length ? 0 : commas + 1 - trailingCommas;
+        if (parts > 2) {
+            throw new ParseException(FailureReason.MULTIPLE_COMMAS,
+                    "Can't flip around multiple ',' characters in namestring.");
+        }
+        if (parts == 2) {
+            final int backEnd = secondComma < 0 ? length : secondComma;
+            final int backLength = backEnd - firstComma - 1;
+            System.arraycopy(chars, firstComma + 1, scratch, 0, backLength);
+            scratch[backLength] = ' ';
+            System.arraycopy(chars, 0, scratch, backLength + 1, firstComma);
+            final char[] flipped = scratch;
+            scratch = chars;
+            chars = flipped;
+            length = backLength + 1 + firstComma;
+            norm();
+        }
+    }
+
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index >= length) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+        return chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new String(chars, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+}
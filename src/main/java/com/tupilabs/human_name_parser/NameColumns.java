@@ -0,0 +1,155 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.util.Arrays;
+
+/**
+ * <p>The parts of many parsed names, stored by column: for each
+ * {@link NamePart}, an {@code int} array of ids into a dictionary shared by
+ * all the columns. Each distinct string is kept once, and there is no object
+ * per name, so millions of names take a few bytes each, plus their distinct
+ * strings.</p>
+ *
+ * <p>This class is not thread-safe for additions. Reads can run concurrently
+ * once no more names are added.</p>
+ *
+ * @since 0.4
+ * @see NameStreams#toColumns()
+ */
+public final class NameColumns {
+
+    private static final NamePart[] PARTS = NamePart.values();
+    private static final int NONE = -1;
+
+    private final StringDictionary dictionary = new StringDictionary();
+    private final int[][] columns = new int[PARTS.length][16];
+    private int size;
+
+    /**
+     * Adds a parsed name.
+     * @param parts the parts of the name
+     * @return the row of the name
+     */
+    public int add(NameParts parts) {
+        ensureCapacity(size + 1);
+        final char[] chars = parts.buffer();
+        for (NamePart part : PARTS) {
+            final int length = parts.length(part);
+            final int start = parts.start(part);
+            columns[part.ordinal()][size] = length == 0 ? NONE : dictionary.add(chars, start, start + length);
+        }
+        return size++;
+    }
+
+    /**
+     * Adds the names of other columns, after the names of these columns.
+     * @param other the other columns
+     */
+    void addAll(NameColumns other) {
+        ensureCapacity(size + other.size);
+        // the ids of the other dictionary in this one
+        final int[] ids = new int[other.dictionary.size()];
+        for (int id = 0; id < ids.length; id++) {
+            ids[id] = dictionary.add(other.dictionary, id);
+        }
+        for (NamePart part : PARTS) {
+            final int[] column = columns[part.ordinal()];
+            final int[] otherColumn = other.columns[part.ordinal()];
+            for (int row = 0; row < other.size; row++) {
+                final int id = otherColumn[row];
+                column[size + row] = id == NONE ? NONE : ids[id];
+            }
+        }
+        size += other.size;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > columns[0].length) {
+            final int newCapacity = Math.max(capacity, columns[0].length * 2);
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = Arrays.copyOf(columns[i], newCapacity);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of names.
+     * @return the number of names
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets a part of a name.
+     * @param row the row of the name
+     * @param part the part
+     * @return the part, an empty {@code String} if the part is empty
+     */
+    public String get(int row, NamePart part) {
+        final int id = getId(row, part);
+        return id == NONE ? "" : dictionary.get(id);
+    }
+
+    /**
+     * Gets the id of a part of a name in the dictionary. Equal parts, in any
+     * column, have the same id.
+     * @param row the row of the name
+     * @param part the part
+     * @return the id, or {@code -1} if the part is empty
+     */
+    public int getId(int row, NamePart part) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException(String.valueOf(row));
+        }
+        return columns[part.ordinal()][row];
+    }
+
+    /**
+     * Gets the number of distinct strings in the columns.
+     * @return the number of strings
+     */
+    public int dictionarySize() {
+        return dictionary.size();
+    }
+
+    /**
+     * Gets the approximate number of bytes used by the columns.
+     * @return the number of bytes
+     */
+    public long estimatedBytes() {
+        return dictionary.estimatedBytes() + 4L * PARTS.length * columns[0].length;
+    }
+
+    /**
+     * Shrinks the arrays to the current size, once no more names will be added.
+     */
+    public void trimToSize() {
+        dictionary.trimToSize();
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = Arrays.copyOf(columns[i], Math.max(16, size));
+        }
+    }
+}
@@ -0,0 +1,391 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * <p>A name format, compiled once from a template and then used to render the
+ * parts of many names into an {@code Appendable}, without creating intermediate
+ * {@code String}s.</p>
+ *
+ * <p>The template is literal text with fields, like {@code {last}}, naming a
+ * {@link NamePart} in camel case ({@code leadingInit}, {@code first},
+ * {@code nicknames}, {@code middle}, {@code last}, {@code suffix},
+ * {@code salutation}, {@code postnominal}), optionally followed by a style:</p>
+ *
+ * <ul>
+ * <li>{@code {first:upper}}, {@code {first:lower}}: the part in upper or lower case</li>
+ * <li>{@code {middle:initials}}: the first letter of each word, followed by a dot,
+ * separated by spaces ("Charles R." becomes "C. R.")</li>
+ * <li>{@code {middle:letters}}: the first letter of each word ("Charles R." becomes "CR")</li>
+ * </ul>
+ *
+ * <p>Text between square brackets is optional, and is only rendered when none of
+ * the fields in it is blank, so that a missing part leaves no stray separators.
+ * Optional sections can be nested. A backslash escapes the next char, e.g.
+ * {@code \[}.</p>
+ *
+ * <pre>
+ * NameFormat format = NameFormat.compile("{last}[, {first}][ {middle:initials}]");
+ * StringBuilder sb = new StringBuilder();
+ * for (String name : names) {
+ *     parser.parse(name, parts);
+ *     format.format(parts, sb).append('\n');
+ * }
+ * </pre>
+ *
+ * <p>This class is immutable and thread-safe.</p>
+ *
+ * @since 0.4
+ */
+public final class NameFormat {
+
+    private static final NamePart[] PARTS = NamePart.values();
+
+    private enum Style {
+        AS_IS,
+        UPPER,
+        LOWER,
+        INITIALS,
+        LETTERS
+    }
+
+    /**
+     * A literal, a field, or an optional section of a template.
+     */
+    private static final class Segment {
+        final String literal;
+        final NamePart part;
+        final Style style;
+        final Segment[] optional;
+
+        Segment(String literal, NamePart part, Style style, Segment[] optional) {
+            this.literal = literal;
+            this.part = part;
+            this.style = style;
+            this.optional = optional;
+        }
+    }
+
+    private final String template;
+    private final Segment[] segments;
+
+    private NameFormat(String template, Segment[] segments) {
+        this.template = template;
+        this.segments = segments;
+    }
+
+    /**
+     * Compiles a template.
+     * @param template the template
+     * @return the name format
+     * @throws IllegalArgumentException if the template is not valid
+     */
+    public static NameFormat compile(String template) {
+        Objects.requireNonNull(template);
+        final int[] position = {0};
+        final Segment[] segments = compile(template, position, false);
+        return new NameFormat(template, segments);
+    }
+
+    private static Segment[] compile(String template, int[] position, boolean optional) {
+        final List<Segment> segments = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        while (position[0] < template.length()) {
+            final char c = template.charAt(position[0]++);
+            if (c == '\\') {
+                if (position[0] == template.length()) {
+                    throw invalid(template, position[0] - 1, "dangling escape");
+                }
+                literal.append(template.charAt(position[0]++));
+            } else if (c == '{') {
+                final int end = template.indexOf('}', position[0]);
+                if (end < 0) {
+                    throw invalid(template, position[0] - 1, "unclosed field");
+                }
+                addLiteral(segments, literal);
+                segments.add(field(template, position[0] - 1, template.substring(position[0], end)));
+                position[0] = end + 1;
+            } else if (c == '[') {
+                addLiteral(segments, literal);
+                final int start = position[0] - 1;
+                final Segment[] inner = compile(template, position, true);
+                if (position[0] > template.length() || template.charAt(position[0] - 1) != ']') {
+                    throw invalid(template, start, "unclosed optional section");
+                }
+                segments.add(new Segment(null, null, null, inner));
+            } else if (c == ']') {
+                if (!optional) {
+                    throw invalid(template, position[0] - 1, "unopened optional section");
+                }
+                addLiteral(segments, literal);
+                return segments.toArray(new Segment[0]);
+            } else if (c == '}') {
+                throw invalid(template, position[0] - 1, "unopened field");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (optional) {
+            // no closing bracket
+            position[0] = template.length() + 1;
+        }
+        addLiteral(segments, literal);
+        return segments.toArray(new Segment[0]);
+    }
+
+    private static void addLiteral(List<Segment> segments, StringBuilder literal) {
+        if (literal.length() > 0) {
+            segments.add(new Segment(literal.toString(), null, null, null));
+            literal.setLength(0);
+        }
+    }
+
+    private static Segment field(String template, int position, String field) {
+        final int colon = field.indexOf(':');
+        final String name = colon < 0 ? field : field.substring(0, colon);
+        NamePart part = null;
+        for (NamePart candidate : PARTS) {
+            if (candidate.name().replace("_", "").equalsIgnoreCase(name.trim())) {
+                part = candidate;
+            }
+        }
+        if (part == null) {
+            throw invalid(template, position, "unknown part '" + name + "'");
+        }
+        Style style = Style.AS_IS;
+        if (colon >= 0) {
+            try {
+                style = Style.valueOf(field.substring(colon + 1).trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw invalid(template, position, "unknown style '" + field.substring(colon + 1) + "'");
+            }
+        }
+        return new Segment(null, part, style, null);
+    }
+
+    private static IllegalArgumentException invalid(String template, int position, String reason) {
+        return new IllegalArgumentException("Invalid name format '" + template + "' at " + position + ": " + reason);
+    }
+
+    /**
+     * Renders the parts of a name.
+     * @param parts the parts
+     * @param sb where to render the name
+     * @return the {@code StringBuilder}
+     */
+    public StringBuilder format(NameParts parts, StringBuilder sb) {
+        try {
+            return render(segments, parts, sb);
+        } catch (IOException e) {
+            // a StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Renders the parts of a name.
+     * @param parts the parts
+     * @param appendable where to render the name
+     * @param <A> the type of the {@code Appendable}
+     * @return the {@code Appendable}
+     * @throws IOException if the {@code Appendable} fails
+     */
+    public <A extends Appendable> A format(NameParts parts, A appendable) throws IOException {
+        return render(segments, parts, appendable);
+    }
+
+    /**
+     * Renders the parts of a name.
+     * @param parts the parts
+     * @return the name
+     */
+    public String format(NameParts parts) {
+        return format(parts, new StringBuilder()).toString();
+    }
+
+    /**
+     * Renders the parts of a name parsed by a {@code HumanNameParserParser}.
+     * @param parser the parser
+     * @param sb where to render the name
+     * @return the {@code StringBuilder}
+     */
+    public StringBuilder format(HumanNameParserParser parser, StringBuilder sb) {
+        try {
+            return render(segments, new ParserParts(parser), sb);
+        } catch (IOException e) {
+            // a StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Renders the parts of a name parsed by a {@code HumanNameParserParser}.
+     * @param parser the parser
+     * @return the name
+     */
+    public String format(HumanNameParserParser parser) {
+        return format(parser, new StringBuilder()).toString();
+    }
+
+    private static <A extends Appendable> A render(Segment[] segments, NamePartSource parts, A out)
+            throws IOException {
+        for (Segment segment : segments) {
+            if (segment.literal != null) {
+                out.append(segment.literal);
+            } else if (segment.part != null) {
+                renderField(segment, parts, out);
+            } else if (isComplete(segment.optional, parts)) {
+                render(segment.optional, parts, out);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Checks that none of the fields of an optional section is blank. The nested
+     * optional sections do not count, as they are optional on their own.
+     */
+    private static boolean isComplete(Segment[] segments, NamePartSource parts) {
+        for (Segment segment : segments) {
+            if (segment.part != null && isBlank(parts, segment.part)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBlank(NamePartSource parts, NamePart part) {
+        final int length = parts.length(part);
+        for (int i = 0; i < length; i++) {
+            if (!Character.isWhitespace(parts.charAt(part, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void renderField(Segment segment, NamePartSource parts, Appendable out) throws IOException {
+        final NamePart part = segment.part;
+        final int length = parts.length(part);
+        boolean wordStart = true;
+        boolean firstWord = true;
+        for (int i = 0; i < length; i++) {
+            final char c = parts.charAt(part, i);
+            switch (segment.style) {
+                case UPPER:
+                    out.append(Character.toUpperCase(c));
+                    break;
+                case LOWER:
+                    out.append(Character.toLowerCase(c));
+                    break;
+                case INITIALS:
+                case LETTERS:
+                    if (c == ' ') {
+                        wordStart = true;
+                    } else if (wordStart) {
+                        wordStart = false;
+                        if (segment.style == Style.INITIALS) {
+                            if (!firstWord) {
+                                out.append(' ');
+                            }
+                            out.append(Character.toUpperCase(c)).append('.');
+                        } else {
+                            out.append(Character.toUpperCase(c));
+                        }
+                        firstWord = false;
+                    }
+                    break;
+                default:
+                    out.append(c);
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    /**
+     * The parts of a name parsed by a {@code HumanNameParserParser}, whose
+     * getters return {@code null} for the parts that were not parsed.
+     */
+    private static final class ParserParts implements NamePartSource {
+
+        private final HumanNameParserParser parser;
+
+        ParserParts(HumanNameParserParser parser) {
+            this.parser = parser;
+        }
+
+        private String get(NamePart part) {
+            final String value;
+            switch (part) {
+                case LEADING_INIT:
+                    value = parser.getLeadingInit();
+                    break;
+                case FIRST:
+                    value = parser.getFirst();
+                    break;
+                case NICKNAMES:
+                    value = parser.getNicknames();
+                    break;
+                case MIDDLE:
+                    value = parser.getMiddle();
+                    break;
+                case LAST:
+                    value = parser.getLast();
+                    break;
+                case SUFFIX:
+                    value = parser.getSuffix();
+                    break;
+                case SALUTATION:
+                    value = parser.getSalutation();
+                    break;
+                default:
+                    value = parser.getPostnominal();
+                    break;
+            }
+            return value == null ? "" : value;
+        }
+
+        @Override
+        public int length(NamePart part) {
+            return get(part).length();
+        }
+
+        @Override
+        public char charAt(NamePart part, int index) {
+            return get(part).charAt(index);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * <p>The compiled regexes used to parse names, created once from the lists of
+ * salutations, postnominals, prefixes and suffixes, and shared by every parse.</p>
+ *
+ * <p>This class is immutable and thread-safe.</p>
+ *
+ * @since 0.4
+ */
+public final class NameGrammar {
+
+    private static final String REGEX_METACHARS = "\\^$.|?*+()[]{}";
+
+    private static final NameGrammar DEFAULT = new NameGrammar(
+            formatToRegex(HumanNameParserBuilder.DEFAULT_SALUTATIONS),
+            formatToRegex(HumanNameParserBuilder.DEFAULT_POSTNOMINALS),
+            formatToRegex(HumanNameParserBuilder.DEFAULT_PREFIXES),
+            formatToRegex(HumanNameParserBuilder.DEFAULT_SUFFIXES),
+            formatToRegex(HumanNameParserBuilder.DEFAULT_CONJUNCTIONS));
+
+    private final List<String> salutations;
+    private final List<String> postnominals;
+    private final List<String> prefixes;
+    private final List<String> suffixes;
+    private final List<String> conjunctions;
+
+    // The regex use is a bit tricky. *Everything* matched by the regex will be
+    // replaced, but you can select a particular parenthesized submatch to be returned.
+    // Also, note that each regex requires that the preceding ones have been run,
+    // and matches chopped out.
+    final Pattern nicknames;
+    final Pattern postnominal;
+    final Pattern suffix;
+    final Pattern last;
+    final Pattern salutation;
+    final Pattern leadingInit;
+    final Pattern first;
+    final CaseNormalizer caseNormalizer;
+
+    /**
+     * Create a grammar. The values are regular expressions, as in the lists
+     * given to {@code HumanNameParserBuilder}.
+     *
+     * @param salutations the salutations
+     * @param postnominals the postnominals
+     * @param prefixes the last name prefixes
+     * @param suffixes the suffixes
+     */
+    public NameGrammar(List<String> salutations,
+            List<String> postnominals,
+            List<String> prefixes,
+            List<String> suffixes) {
+        this(salutations, postnominals, prefixes, suffixes,
+                formatToRegex(HumanNameParserBuilder.DEFAULT_CONJUNCTIONS));
+    }
+
+    /**
+     * Create a grammar. The values are regular expressions, as in the lists
+     * given to {@code HumanNameParserBuilder}.
+     *
+     * @param salutations the salutations
+     * @param postnominals the postnominals
+     * @param prefixes the last name prefixes
+     * @param suffixes the suffixes
+     * @param conjunctions the words joining compound last names, like "y" in "Ortega y Gasset"
+     */
+    public NameGrammar(List<String> salutations,
+            List<String> postnominals,
+            List<String> prefixes,
+            List<String> suffixes,
+            List<String> conjunctions) {
+        this.salutations = Collections.unmodifiableList(new ArrayList<>(salutations));
+        this.postnominals = Collections.unmodifiableList(new ArrayList<>(postnominals));
+        this.prefixes = Collections.unmodifiableList(new ArrayList<>(prefixes));
+        this.suffixes = Collections.unmodifiableList(new ArrayList<>(suffixes));
+        this.conjunctions = Collections.unmodifiableList(new ArrayList<>(conjunctions));
+
+        String suffixesRegex = StringUtils.join(suffixes, "\\.*|") + "\\.*";
+        String postnominalsRegex = StringUtils.join(postnominals, "\\.*|") + "\\.*";
+        String salutationsRegex = StringUtils.join(salutations, "\\.*|") + "\\.*";
+        String prefixesRegex = StringUtils.join(prefixes, " |") + " ";
+        String compoundsRegex = conjunctions.isEmpty() ? ""
+                : "[^ ]+ " + StringUtils.join(conjunctions, " |[^ ]+ ") + " |";
+
+        // names that starts or end w/ an apostrophe break this
+        this.nicknames = Pattern.compile("(?i) ('|\\\"|\\(\\\"*'*)(.+?)('|\\\"|\\\"*'*\\)) ");
+        this.suffix = Pattern.compile("(?i)[,| ]+((" + suffixesRegex + ")$)");
+        this.postnominal = Pattern.compile("(?i)[,| ]+((" + postnominalsRegex + ")$)");
+        this.last = Pattern.compile("(?i)(?!^)\\b(" + compoundsRegex + prefixesRegex + ")*[^ ]+$");
+        // note the lookahead, which isn't returned or replaced
+        this.leadingInit = Pattern.compile("(?i)(^(.\\.*)(?= \\p{L}{2}))");
+        // salutation plus a word boundary \b
+        this.salutation = Pattern.compile("(?i)^(" + salutationsRegex + "\\b)(\\.|\\s)+");
+        this.first = Pattern.compile("(?i)^([^ ]+)");
+        this.caseNormalizer = new CaseNormalizer(prefixes, conjunctions, suffixes, postnominals);
+    }
+
+    /**
+     * Gets the grammar with the default salutations, postnominals, prefixes and
+     * suffixes of {@code HumanNameParserBuilder}.
+     *
+     * @return the default grammar
+     */
+    public static NameGrammar defaultGrammar() {
+        return DEFAULT;
+    }
+
+    public List<String> getSalutations() {
+        return salutations;
+    }
+
+    public List<String> getPostnominals() {
+        return postnominals;
+    }
+
+    public List<String> getPrefixes() {
+        return prefixes;
+    }
+
+    public List<String> getSuffixes() {
+        return suffixes;
+    }
+
+    public List<String> getConjunctions() {
+        return conjunctions;
+    }
+
+    /**
+     * Escapes the dots of literal values, so that they can be used in the regexes.
+     *
+     * @param list literal values
+     * @return the values as regexes
+     */
+    static List<String> formatToRegex(List<String> list) {
+        List<String> regexList = new ArrayList<>();
+        for (String s : list) {
+            regexList.add(s.replace(".", "\\."));
+        }
+        return regexList;
+    }
+
+    /**
+     * Escapes all the regex metacharacters of literal values, so that they
+     * match only themselves in the regexes.
+     *
+     * @param list literal values
+     * @return the values as regexes
+     */
+    static List<String> quoteToRegex(List<String> list) {
+        List<String> regexList = new ArrayList<>();
+        for (String s : list) {
+            final StringBuilder sb = new StringBuilder(s.length() + 4);
+            for (int i = 0; i < s.length(); i++) {
+                final char c = s.charAt(i);
+                if (REGEX_METACHARS.indexOf(c) >= 0) {
+                    sb.append('\\');
+                }
+                sb.append(c);
+            }
+            regexList.add(sb.toString());
+        }
+        return regexList;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+/**
+ * <p>Normalized keys computed from the first and last names while parsing, for
+ * record linkage (see {@link ReusableNameParser#setKeys(java.util.Set)}).</p>
+ *
+ * <p>Folded keys are lower case, with accents stripped (e.g. "&#241;" to "n",
+ * "&#223;" to "ss"), and only letters and digits (e.g. "O'Malley-Mu&#241;oz" to
+ * "omalleymunoz").</p>
+ *
+ * @since 0.4
+ */
+public enum NameKey {
+
+    /**
+     * The folded first name.
+     */
+    FIRST_FOLDED,
+    /**
+     * The folded last name.
+     */
+    LAST_FOLDED,
+    /**
+     * The folded nicknames.
+     */
+    NICKNAMES_FOLDED,
+    /**
+     * The American Soundex code of the first name, like "B265" for "Bjorn".
+     */
+    FIRST_SOUNDEX,
+    /**
+     * The American Soundex code of the last name, like "O540" for "O'Malley".
+     */
+    LAST_SOUNDEX,
+    /**
+     * The folded last name followed by the first letter of the folded first name,
+     * like "omalleyb" for "Bjorn O'Malley".
+     */
+    BLOCKING
+
+}
@@ -0,0 +1,227 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * <p>Computes the {@code NameKey}s of the first and last names, right after they
+ * are parsed, reading the chars of the parts and writing the chars of the keys
+ * into the same {@code NameParts}, without creating {@code String}s.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @since 0.4
+ */
+final class NameKeys {
+
+    /**
+     * The folded chars for the chars up to the end of Latin Extended-B. ASCII letters
+     * and digits fold to themselves in lower case, other ASCII chars to nothing.
+     */
+    private static final String[] FOLDED = new String[0x250];
+
+    /**
+     * The Soundex digits of the letters {@code a} to {@code z}. {@code 0} for the vowels
+     * (and y), which separate letters with the same digit, {@code -} for h and w, which
+     * do not.
+     */
+    private static final String SOUNDEX_DIGITS = "0123012-02245501262301-202";
+
+    static {
+        for (char c = 0; c < FOLDED.length; c++) {
+            FOLDED[c] = fold(c);
+        }
+        // letters that do not decompose
+        FOLDED['\u00df'] = "ss";
+        FOLDED['\u00c6'] = "ae";
+        FOLDED['\u00e6'] = "ae";
+        FOLDED['\u0152'] = "oe";
+        FOLDED['\u0153'] = "oe";
+        FOLDED['\u00d8'] = "o";
+        FOLDED['\u00f8'] = "o";
+        FOLDED['\u0110'] = "d";
+        FOLDED['\u0111'] = "d";
+        FOLDED['\u00d0'] = "d";
+        FOLDED['\u00f0'] = "d";
+        FOLDED['\u00de'] = "th";
+        FOLDED['\u00fe'] = "th";
+        FOLDED['\u0141'] = "l";
+        FOLDED['\u0142'] = "l";
+        FOLDED['\u0131'] = "i";
+    }
+
+    private final Set<NameKey> keys;
+    private char[] first;
+    private int firstLength;
+    private char[] last;
+    private int lastLength;
+    private char[] nicknames;
+    private int foldedLength;
+
+    /**
+     * Create the key generator.
+     * @param keys the keys to compute
+     */
+    NameKeys(Set<NameKey> keys) {
+        this.keys = keys;
+        this.first = new char[32];
+        this.last = new char[32];
+        this.nicknames = new char[32];
+    }
+
+    /**
+     * Computes the keys from the parsed parts.
+     * @param parts the parsed parts, where the keys are written too
+     */
+    void compute(NameParts parts) {
+        firstLength = 0;
+        lastLength = 0;
+        if (keys.contains(NameKey.FIRST_FOLDED) || keys.contains(NameKey.FIRST_SOUNDEX)
+                || keys.contains(NameKey.BLOCKING)) {
+            first = foldPart(parts, NamePart.FIRST, first);
+            firstLength = foldedLength;
+        }
+        if (keys.contains(NameKey.LAST_FOLDED) || keys.contains(NameKey.LAST_SOUNDEX)
+                || keys.contains(NameKey.BLOCKING)) {
+            last = foldPart(parts, NamePart.LAST, last);
+            lastLength = foldedLength;
+        }
+        if (keys.contains(NameKey.FIRST_FOLDED)) {
+            append(parts, NameKey.FIRST_FOLDED, first, firstLength);
+        }
+        if (keys.contains(NameKey.LAST_FOLDED)) {
+            append(parts, NameKey.LAST_FOLDED, last, lastLength);
+        }
+        if (keys.contains(NameKey.NICKNAMES_FOLDED)) {
+            nicknames = foldPart(parts, NamePart.NICKNAMES, nicknames);
+            append(parts, NameKey.NICKNAMES_FOLDED, nicknames, foldedLength);
+        }
+        if (keys.contains(NameKey.FIRST_SOUNDEX)) {
+            soundex(parts, NameKey.FIRST_SOUNDEX, first, firstLength);
+        }
+        if (keys.contains(NameKey.LAST_SOUNDEX)) {
+            soundex(parts, NameKey.LAST_SOUNDEX, last, lastLength);
+        }
+        if (keys.contains(NameKey.BLOCKING)) {
+            parts.beginKey(NameKey.BLOCKING);
+            if (lastLength > 0) {
+                for (int i = 0; i < lastLength; i++) {
+                    parts.appendKey(NameKey.BLOCKING, last[i]);
+                }
+                if (firstLength > 0) {
+                    parts.appendKey(NameKey.BLOCKING, first[0]);
+                }
+            }
+        }
+    }
+
+    private char[] foldPart(NameParts parts, NamePart part, char[] folded) {
+        final int length = parts.length(part);
+        int written = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = parts.charAt(part, i);
+            if (c < FOLDED.length) {
+                final String f = FOLDED[c];
+                if (written + f.length() > folded.length) {
+                    folded = Arrays.copyOf(folded, folded.length * 2);
+                }
+                for (int j = 0; j < f.length(); j++) {
+                    folded[written++] = f.charAt(j);
+                }
+            } else if (Character.isLetterOrDigit(c)) {
+                if (written == folded.length) {
+                    folded = Arrays.copyOf(folded, folded.length * 2);
+                }
+                folded[written++] = Character.toLowerCase(c);
+            }
+        }
+        foldedLength = written;
+        return folded;
+    }
+
+    private static void append(NameParts parts, NameKey key, char[] chars, int length) {
+        parts.beginKey(key);
+        for (int i = 0; i < length; i++) {
+            parts.appendKey(key, chars[i]);
+        }
+    }
+
+    /**
+     * American Soundex: the first letter, in upper case, followed by the digits
+     * of the next consonants, skipping repeated digits, padded to 4 chars.
+     */
+    private static void soundex(NameParts parts, NameKey key, char[] folded, int length) {
+        parts.beginKey(key);
+        int i = 0;
+        while (i < length && (folded[i] < 'a' || folded[i] > 'z')) {
+            i++;
+        }
+        if (i == length) {
+            return;
+        }
+        final char initial = folded[i];
+        parts.appendKey(key, (char) (initial - 'a' + 'A'));
+        int written = 1;
+        char previous = SOUNDEX_DIGITS.charAt(initial - 'a');
+        for (i++; i < length && written < 4; i++) {
+            final char c = folded[i];
+            if (c < 'a' || c > 'z') {
+                continue;
+            }
+            final char digit = SOUNDEX_DIGITS.charAt(c - 'a');
+            if (digit == '-') {
+                continue;
+            }
+            if (digit != '0' && digit != previous) {
+                parts.appendKey(key, digit);
+                written++;
+            }
+            previous = digit;
+        }
+        for (; written < 4; written++) {
+            parts.appendKey(key, '0');
+        }
+    }
+
+    /**
+     * Folds a char: lower case, without accents, only letters and digits.
+     */
+    private static String fold(char c) {
+        if (c < 0x80) {
+            return Character.isLetterOrDigit(c) ? String.valueOf(Character.toLowerCase(c)) : "";
+        }
+        final String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < decomposed.length(); i++) {
+            final char d = decomposed.charAt(i);
+            if (Character.isLetterOrDigit(d)) {
+                sb.append(Character.toLowerCase(d));
+            }
+        }
+        return sb.toString();
+    }
+}
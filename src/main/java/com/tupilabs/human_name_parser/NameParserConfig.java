@@ -0,0 +1,444 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>A parser configuration that can be sent to the workers of a distributed
+ * engine: the values of a {@link NameGrammar}, and the parts, keys and case
+ * normalization of the parsers.</p>
+ *
+ * <p>Its serialized form is compact: a few bytes of header, then the values
+ * as UTF-8, with varint lengths (see {@link #toBytes()}). The compiled state,
+ * i.e. the regexes and dictionaries of the grammar, is not serialized. Instead,
+ * a configuration is deserialized into a single instance per JVM (or per
+ * class loader), keyed by the {@link #getHash() hash} of its bytes, and that
+ * instance compiles its grammar once, on first use. So the tasks of a worker
+ * deserializing the same configuration share its compiled grammar. The
+ * instances are held weakly, so a configuration no longer referenced is
+ * collected with its grammar, and deriving configurations per request does not
+ * leak.</p>
+ *
+ * <pre>
+ * // on the driver
+ * NameParserConfig config = new HumanNameParserBuilder("")
+ *     .withExtraSalutations(Arrays.asList("capt"))
+ *     .buildConfig()
+ *     .withNormalizeCase(true);
+ * // in each task
+ * ReusableNameParser parser = config.newParser();
+ * </pre>
+ *
+ * <p>This class is immutable and thread-safe.</p>
+ *
+ * @since 0.4
+ */
+public final class NameParserConfig implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final byte VERSION = 1;
+    private static final int NORMALIZE_CASE = 1;
+
+    /**
+     * The configurations in use in this JVM, by hash, and the queue of the
+     * ones collected since, to remove from the map.
+     */
+    private static final ConcurrentMap<Long, ConfigReference> CONFIGS = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<NameParserConfig> COLLECTED = new ReferenceQueue<>();
+
+    private final byte[] bytes;
+    private final long hash;
+    private final transient List<List<String>> values;
+    private final transient Set<NamePart> parts;
+    private final transient Set<NameKey> keys;
+    private final transient boolean normalizeCase;
+    private transient volatile NameGrammar grammar;
+
+    private NameParserConfig(List<List<String>> values, Set<NamePart> parts, Set<NameKey> keys,
+            boolean normalizeCase, NameGrammar grammar) {
+        this.values = values;
+        this.parts = parts;
+        this.keys = keys;
+        this.normalizeCase = normalizeCase;
+        this.grammar = grammar;
+        this.bytes = encode(values, parts, keys, normalizeCase);
+        this.hash = hash(bytes);
+    }
+
+    /**
+     * Gets the configuration of a grammar, extracting all the parts, without
+     * keys or case normalization.
+     * @param grammar the grammar
+     * @return the configuration
+     */
+    public static NameParserConfig of(NameGrammar grammar) {
+        Objects.requireNonNull(grammar);
+        final List<List<String>> values = Arrays.asList(grammar.getSalutations(), grammar.getPostnominals(),
+                grammar.getPrefixes(), grammar.getSuffixes(), grammar.getConjunctions());
+        return new NameParserConfig(values, EnumSet.allOf(NamePart.class), EnumSet.noneOf(NameKey.class), false,
+                grammar).shared();
+    }
+
+    /**
+     * Gets the configuration with the same values, extracting only some parts.
+     * @param parts the parts to extract
+     * @return the configuration
+     * @see ReusableNameParser#parse(Set, NameParts)
+     */
+    public NameParserConfig withParts(Set<NamePart> parts) {
+        Objects.requireNonNull(parts);
+        return new NameParserConfig(values, parts.isEmpty() ? EnumSet.noneOf(NamePart.class) : EnumSet.copyOf(parts),
+                keys, normalizeCase, grammar).shared();
+    }
+
+    /**
+     * Gets the configuration with the same values, computing keys.
+     * @param keys the keys
+     * @return the configuration
+     * @see ReusableNameParser#setKeys(Set)
+     */
+    public NameParserConfig withKeys(Set<NameKey> keys) {
+        Objects.requireNonNull(keys);
+        return new NameParserConfig(values, parts, keys.isEmpty() ? EnumSet.noneOf(NameKey.class) : EnumSet.copyOf(keys),
+                normalizeCase, grammar).shared();
+    }
+
+    /**
+     * Gets the configuration with the same values, normalizing the case or not.
+     * @param normalizeCase whether to normalize the case
+     * @return the configuration
+     * @see ReusableNameParser#setNormalizeCase(boolean)
+     */
+    public NameParserConfig withNormalizeCase(boolean normalizeCase) {
+        return new NameParserConfig(values, parts, keys, normalizeCase, grammar).shared();
+    }
+
+    /**
+     * Gets the instance of this configuration in use in this JVM, if any, so
+     * that equal configurations share their compiled grammar.
+     */
+    private NameParserConfig shared() {
+        expungeCollected();
+        while (true) {
+            final ConfigReference reference = CONFIGS.get(hash);
+            final NameParserConfig shared = reference == null ? null : reference.get();
+            if (shared != null) {
+                // a different configuration with the same hash is not shared
+                return Arrays.equals(shared.bytes, bytes) ? shared : this;
+            }
+            final ConfigReference added = new ConfigReference(this);
+            if (reference == null ? CONFIGS.putIfAbsent(hash, added) == null
+                    : CONFIGS.replace(hash, reference, added)) {
+                return this;
+            }
+        }
+    }
+
+    private static void expungeCollected() {
+        ConfigReference reference;
+        while ((reference = (ConfigReference) COLLECTED.poll()) != null) {
+            CONFIGS.remove(reference.hash, reference);
+        }
+    }
+
+    /**
+     * Whether a configuration with these bytes is in use in this JVM.
+     */
+    static boolean isShared(byte[] bytes) {
+        expungeCollected();
+        final ConfigReference reference = CONFIGS.get(hash(bytes));
+        final NameParserConfig shared = reference == null ? null : reference.get();
+        return shared != null && Arrays.equals(shared.bytes, bytes);
+    }
+
+    /**
+     * Gets the compiled grammar, compiling it on first use, unless it has the
+     * values of the default grammar.
+     * @return the grammar
+     */
+    public NameGrammar getGrammar() {
+        NameGrammar compiled = grammar;
+        if (compiled == null) {
+            synchronized (this) {
+                compiled = grammar;
+                if (compiled == null) {
+                    final NameGrammar defaultGrammar = NameGrammar.defaultGrammar();
+                    compiled = values.equals(Arrays.asList(defaultGrammar.getSalutations(),
+                            defaultGrammar.getPostnominals(), defaultGrammar.getPrefixes(),
+                            defaultGrammar.getSuffixes(), defaultGrammar.getConjunctions())) ? defaultGrammar
+                            : new NameGrammar(values.get(0), values.get(1), values.get(2), values.get(3),
+                                    values.get(4));
+                    grammar = compiled;
+                }
+            }
+        }
+        return compiled;
+    }
+
+    public Set<NamePart> getParts() {
+        return Collections.unmodifiableSet(parts);
+    }
+
+    public Set<NameKey> getKeys() {
+        return Collections.unmodifiableSet(keys);
+    }
+
+    public boolean isNormalizeCase() {
+        return normalizeCase;
+    }
+
+    /**
+     * Creates a parser with this configuration. Parse with
+     * {@code parser.parse(name, config.getParts(), result)} to extract only the
+     * configured parts.
+     * @return a new parser, to be used by a single thread
+     */
+    public ReusableNameParser newParser() {
+        return new ReusableNameParser(getGrammar()).setKeys(keys).setNormalizeCase(normalizeCase);
+    }
+
+    /**
+     * Gets the 64-bit FNV-1a hash of the bytes of this configuration.
+     * @return the hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * <p>Gets the bytes of this configuration, e.g. for engines with their own
+     * serialization:</p>
+     *
+     * <pre>
+     * version:u8 flags:u8 parts:varint keys:varint (count:varint (length:varint utf8)*count)*5
+     * </pre>
+     *
+     * <p>The parts and keys are bit sets of the ordinals of the enums, and the
+     * five lists are the salutations, postnominals, prefixes, suffixes and
+     * conjunctions.</p>
+     *
+     * @return the bytes
+     */
+    public byte[] toBytes() {
+        return bytes.clone();
+    }
+
+    /**
+     * Gets the configuration of bytes, the instance in use in this JVM if there
+     * is one.
+     * @param bytes the bytes written by {@link #toBytes()}
+     * @return the configuration
+     * @throws IllegalArgumentException if the bytes are not a valid configuration
+     */
+    public static NameParserConfig fromBytes(byte[] bytes) {
+        final ConfigReference reference = CONFIGS.get(hash(bytes));
+        final NameParserConfig shared = reference == null ? null : reference.get();
+        if (shared != null && Arrays.equals(shared.bytes, bytes)) {
+            return shared;
+        }
+        return decode(bytes).shared();
+    }
+
+    private static byte[] encode(List<List<String>> values, Set<NamePart> parts, Set<NameKey> keys,
+            boolean normalizeCase) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(VERSION);
+        out.write(normalizeCase ? NORMALIZE_CASE : 0);
+        int partBits = 0;
+        for (NamePart part : parts) {
+            partBits |= 1 << part.ordinal();
+        }
+        int keyBits = 0;
+        for (NameKey key : keys) {
+            keyBits |= 1 << key.ordinal();
+        }
+        writeVarint(out, partBits);
+        writeVarint(out, keyBits);
+        for (List<String> list : values) {
+            writeVarint(out, list.size());
+            for (String value : list) {
+                final byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                writeVarint(out, utf8.length);
+                out.write(utf8, 0, utf8.length);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static NameParserConfig decode(byte[] bytes) {
+        final int[] position = {0};
+        if (bytes.length < 2 || bytes[0] != VERSION) {
+            throw new IllegalArgumentException("Invalid name parser config");
+        }
+        final boolean normalizeCase = (bytes[1] & NORMALIZE_CASE) != 0;
+        position[0] = 2;
+        final int partBits = readVarint(bytes, position);
+        final int keyBits = readVarint(bytes, position);
+        final Set<NamePart> parts = EnumSet.noneOf(NamePart.class);
+        for (NamePart part : NamePart.values()) {
+            if ((partBits & 1 << part.ordinal()) != 0) {
+                parts.add(part);
+            }
+        }
+        final Set<NameKey> keys = EnumSet.noneOf(NameKey.class);
+        for (NameKey key : NameKey.values()) {
+            if ((keyBits & 1 << key.ordinal()) != 0) {
+                keys.add(key);
+            }
+        }
+        final List<List<String>> values = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final int count = readVarint(bytes, position);
+            final List<String> list = new ArrayList<>();
+            for (int j = 0; j < count; j++) {
+                final int length = readVarint(bytes, position);
+                if (length > bytes.length - position[0]) {
+                    throw new IllegalArgumentException("Truncated name parser config");
+                }
+                list.add(new String(bytes, position[0], length, StandardCharsets.UTF_8));
+                position[0] += length;
+            }
+            values.add(Collections.unmodifiableList(list));
+        }
+        if (position[0] != bytes.length) {
+            throw new IllegalArgumentException("Invalid name parser config length");
+        }
+        return new NameParserConfig(values, parts, keys, normalizeCase, null);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7f) != 0) {
+            out.write(value & 0x7f | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(byte[] bytes, int[] position) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new IllegalArgumentException("Truncated name parser config");
+            }
+            final byte b = bytes[position[0]++];
+            value |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Invalid varint in name parser config");
+    }
+
+    private static long hash(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Serializes the bytes instead of the fields.
+     */
+    private Object writeReplace() {
+        return new SerializedForm(bytes);
+    }
+
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Serialized through SerializedForm");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof NameParserConfig && Arrays.equals(bytes, ((NameParserConfig) o).bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+
+    @Override
+    public String toString() {
+        return "NameParserConfig[hash=" + Long.toHexString(hash) + ", parts=" + parts + ", keys=" + keys
+                + ", normalizeCase=" + normalizeCase + "]";
+    }
+
+    /**
+     * A weak reference to a configuration in use, removed from the map once
+     * the configuration is collected.
+     */
+    private static final class ConfigReference extends WeakReference<NameParserConfig> {
+
+        final long hash;
+
+        ConfigReference(NameParserConfig config) {
+            super(config, COLLECTED);
+            this.hash = config.hash;
+        }
+    }
+
+    /**
+     * The serialized form of a configuration: its bytes.
+     */
+    private static final class SerializedForm implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] bytes;
+
+        SerializedForm(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private Object readResolve() throws InvalidObjectException {
+            try {
+                return fromBytes(bytes);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidObjectException(e.getMessage());
+            }
+        }
+    }
+}
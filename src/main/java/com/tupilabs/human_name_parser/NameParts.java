@@ -0,0 +1,427 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * <p>A mutable holder for the parts of a name, filled by a
+ * {@code ReusableNameParser}.</p>
+ *
+ * <p>The chars of every part are kept in a single buffer that is reused across
+ * parses. A {@code String} for a part is only created when it is requested with
+ * {@link #get(NamePart)} (or one of the getters), and is then cached until the
+ * holder is cleared. Use {@link #length(NamePart)}, {@link #charAt(NamePart, int)},
+ * {@link #contentEquals(NamePart, CharSequence)} or {@link #appendTo(NamePart, StringBuilder)}
+ * to read a part without creating a {@code String}.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @since 0.4
+ */
+public final class NameParts implements NamePartSource {
+
+    private static final NamePart[] PARTS = NamePart.values();
+    private static final NameKey[] KEYS = NameKey.values();
+
+    private char[] chars;
+    private int size;
+    private final int[] starts;
+    private final int[] lengths;
+    private final String[] strings;
+    private PartInterner interner;
+
+    private char[] keyChars;
+    private int keySize;
+    private final int[] keyStarts;
+    private final int[] keyLengths;
+    private final String[] keyStrings;
+
+    /**
+     * Create an empty holder.
+     */
+    public NameParts() {
+        this.chars = new char[64];
+        this.starts = new int[PARTS.length];
+        this.lengths = new int[PARTS.length];
+        this.strings = new String[PARTS.length];
+        this.keyChars = new char[32];
+        this.keyStarts = new int[KEYS.length];
+        this.keyLengths = new int[KEYS.length];
+        this.keyStrings = new String[KEYS.length];
+    }
+
+    /**
+     * Empties every part.
+     */
+    public void clear() {
+        size = 0;
+        Arrays.fill(lengths, 0);
+        Arrays.fill(strings, null);
+        keySize = 0;
+        Arrays.fill(keyLengths, 0);
+        Arrays.fill(keyStrings, null);
+    }
+
+    /**
+     * Sets a part to the chars between {@code start} and {@code end}.
+     *
+     * @param part the part
+     * @param src the source chars
+     * @param start the start index, inclusive
+     * @param end the end index, exclusive
+     */
+    void set(NamePart part, char[] src, int start, int end) {
+        final int partLength = end - start;
+        if (size + partLength > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(size + partLength, chars.length * 2));
+        }
+        System.arraycopy(src, start, chars, size, partLength);
+        starts[part.ordinal()] = size;
+        lengths[part.ordinal()] = partLength;
+        strings[part.ordinal()] = null;
+        size += partLength;
+    }
+
+    /**
+     * Gets the length of a part.
+     * @param part the part
+     * @return the length, {@code 0} if the part is empty
+     */
+    public int length(NamePart part) {
+        return lengths[part.ordinal()];
+    }
+
+    /**
+     * Checks whether a part is empty.
+     * @param part the part
+     * @return {@code true} if the part is empty
+     */
+    public boolean isEmpty(NamePart part) {
+        return lengths[part.ordinal()] == 0;
+    }
+
+    /**
+     * Gets a char of a part.
+     * @param part the part
+     * @param index the index of the char in the part
+     * @return the char
+     * @throws IndexOutOfBoundsException if the index is not within the part
+     */
+    public char charAt(NamePart part, int index) {
+        if (index < 0 || index >= lengths[part.ordinal()]) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+        return chars[starts[part.ordinal()] + index];
+    }
+
+    /**
+     * Checks whether a part has the same chars as a {@code CharSequence}.
+     * @param part the part
+     * @param cs the {@code CharSequence}
+     * @return {@code true} if the part has the same chars
+     */
+    public boolean contentEquals(NamePart part, CharSequence cs) {
+        final int partLength = lengths[part.ordinal()];
+        if (cs.length() != partLength) {
+            return false;
+        }
+        final int start = starts[part.ordinal()];
+        for (int i = 0; i < partLength; i++) {
+            if (chars[start + i] != cs.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends a part to a {@code StringBuilder}.
+     * @param part the part
+     * @param sb the {@code StringBuilder}
+     * @return the {@code StringBuilder}
+     */
+    public StringBuilder appendTo(NamePart part, StringBuilder sb) {
+        return sb.append(chars, starts[part.ordinal()], lengths[part.ordinal()]);
+    }
+
+    /**
+     * Appends a part to an {@code Appendable}.
+     * @param part the part
+     * @param appendable the {@code Appendable}
+     * @param <A> the type of the {@code Appendable}
+     * @return the {@code Appendable}
+     * @throws IOException if the {@code Appendable} fails
+     */
+    public <A extends Appendable> A appendTo(NamePart part, A appendable) throws IOException {
+        final int start = starts[part.ordinal()];
+        final int end = start + lengths[part.ordinal()];
+        for (int i = start; i < end; i++) {
+            appendable.append(chars[i]);
+        }
+        return appendable;
+    }
+
+    /**
+     * Gets a part as a {@code String}, created on the first call and cached until
+     * the holder is cleared.
+     * @param part the part
+     * @return the part, an empty {@code String} if the part is empty
+     */
+    public String get(NamePart part) {
+        final int i = part.ordinal();
+        if (lengths[i] == 0) {
+            return "";
+        }
+        String s = strings[i];
+        if (s == null) {
+            s = interner == null ? new String(chars, starts[i], lengths[i])
+                    : interner.intern(chars, starts[i], lengths[i]);
+            strings[i] = s;
+        }
+        return s;
+    }
+
+    /**
+     * Sets the interner of the {@code String}s created for the parts, so that
+     * the holders kept in memory share the {@code String}s of repeated parts.
+     * @param interner the interner, or {@code null} to create new {@code String}s
+     * @see PartInterner
+     */
+    public void setInterner(PartInterner interner) {
+        this.interner = interner;
+    }
+
+    /**
+     * Starts writing a key. The chars of the key must be appended with
+     * {@link #appendKey(NameKey, char)} before starting another key.
+     * @param key the key
+     */
+    void beginKey(NameKey key) {
+        keyStarts[key.ordinal()] = keySize;
+        keyLengths[key.ordinal()] = 0;
+        keyStrings[key.ordinal()] = null;
+    }
+
+    /**
+     * Appends a char to the key being written.
+     * @param key the key
+     * @param c the char
+     */
+    void appendKey(NameKey key, char c) {
+        if (keySize == keyChars.length) {
+            keyChars = Arrays.copyOf(keyChars, keyChars.length * 2);
+        }
+        keyChars[keySize++] = c;
+        keyLengths[key.ordinal()]++;
+    }
+
+    /**
+     * Gets the buffer holding the chars of the parts.
+     * @return the buffer
+     */
+    char[] buffer() {
+        return chars;
+    }
+
+    /**
+     * Gets the index of the first char of a part in the buffer.
+     * @param part the part
+     * @return the index
+     */
+    int start(NamePart part) {
+        return starts[part.ordinal()];
+    }
+
+    /**
+     * Gets the buffer holding the chars of the keys.
+     * @return the buffer
+     */
+    char[] keyBuffer() {
+        return keyChars;
+    }
+
+    /**
+     * Gets the index of the first char of a key in the key buffer.
+     * @param key the key
+     * @return the index
+     */
+    int keyStart(NameKey key) {
+        return keyStarts[key.ordinal()];
+    }
+
+    /**
+     * Gets the length of a key.
+     * @param key the key
+     * @return the length, {@code 0} if the key was not computed
+     */
+    public int keyLength(NameKey key) {
+        return keyLengths[key.ordinal()];
+    }
+
+    /**
+     * Gets a char of a key.
+     * @param key the key
+     * @param index the index of the char in the key
+     * @return the char
+     * @throws IndexOutOfBoundsException if the index is not within the key
+     */
+    public char keyCharAt(NameKey key, int index) {
+        if (index < 0 || index >= keyLengths[key.ordinal()]) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+        return keyChars[keyStarts[key.ordinal()] + index];
+    }
+
+    /**
+     * Checks whether a key has the same chars as a {@code CharSequence}.
+     * @param key the key
+     * @param cs the {@code CharSequence}
+     * @return {@code true} if the key has the same chars
+     */
+    public boolean keyContentEquals(NameKey key, CharSequence cs) {
+        final int keyLength = keyLengths[key.ordinal()];
+        if (cs.length() != keyLength) {
+            return false;
+        }
+        final int start = keyStarts[key.ordinal()];
+        for (int i = 0; i < keyLength; i++) {
+            if (keyChars[start + i] != cs.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends a key to a {@code StringBuilder}.
+     * @param key the key
+     * @param sb the {@code StringBuilder}
+     * @return the {@code StringBuilder}
+     */
+    public StringBuilder appendKeyTo(NameKey key, StringBuilder sb) {
+        return sb.append(keyChars, keyStarts[key.ordinal()], keyLengths[key.ordinal()]);
+    }
+
+    /**
+     * Gets a key as a {@code String}, created on the first call and cached until
+     * the holder is cleared.
+     * @param key the key
+     * @return the key, an empty {@code String} if the key was not computed
+     */
+    public String getKey(NameKey key) {
+        final int i = key.ordinal();
+        if (keyLengths[i] == 0) {
+            return "";
+        }
+        String s = keyStrings[i];
+        if (s == null) {
+            s = new String(keyChars, keyStarts[i], keyLengths[i]);
+            keyStrings[i] = s;
+        }
+        return s;
+    }
+
+    // getters for parsed values
+
+    public String getLeadingInit() {
+        return get(NamePart.LEADING_INIT);
+    }
+
+    public String getFirst() {
+        return get(NamePart.FIRST);
+    }
+
+    public String getNicknames() {
+        return get(NamePart.NICKNAMES);
+    }
+
+    public String getMiddle() {
+        return get(NamePart.MIDDLE);
+    }
+
+    public String getLast() {
+        return get(NamePart.LAST);
+    }
+
+    public String getSuffix() {
+        return get(NamePart.SUFFIX);
+    }
+
+    public String getPostnominal() {
+        return get(NamePart.POSTNOMINAL);
+    }
+
+    public String getSalutation() {
+        return get(NamePart.SALUTATION);
+    }
+
+    /**
+     * Creates an independent copy of this holder, e.g. to keep the result after
+     * the holder is reused. The copy uses the same interner.
+     * @return a copy
+     */
+    public NameParts copy() {
+        final NameParts copy = new NameParts();
+        copy.interner = interner;
+        return copyTo(copy);
+    }
+
+    /**
+     * Replaces the parts and keys of another holder with the ones of this holder.
+     * This holder is only read, so several threads can copy the same holder, as
+     * long as none of them modifies it or requests a {@code String} from it.
+     * @param target the holder to copy to
+     * @return the target
+     */
+    public NameParts copyTo(NameParts target) {
+        target.clear();
+        for (NamePart part : PARTS) {
+            final int i = part.ordinal();
+            target.set(part, chars, starts[i], starts[i] + lengths[i]);
+        }
+        for (NameKey key : KEYS) {
+            final int i = key.ordinal();
+            target.beginKey(key);
+            for (int j = keyStarts[i]; j < keyStarts[i] + keyLengths[i]; j++) {
+                target.appendKey(key, keyChars[j]);
+            }
+        }
+        return target;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("NameParts[");
+        for (NamePart part : PARTS) {
+            if (part.ordinal() > 0) {
+                sb.append(", ");
+            }
+            sb.append(part).append('=');
+            appendTo(part, sb);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * <p>Reads the records written by {@link NameRecordWriter}, in place in a
+ * {@code ByteBuffer}, e.g. a {@code MappedByteBuffer} of a file.</p>
+ *
+ * <p>Moving to the next record only reads the lengths of its parts. A part is
+ * only decoded when requested, so reading a single part of each record, or
+ * comparing the dictionary ids of parts, does not decode the others.</p>
+ *
+ * <pre>
+ * NameRecordReader reader = new NameRecordReader(buffer);
+ * while (reader.next()) {
+ *     String last = reader.get(NamePart.LAST);
+ * }
+ * </pre>
+ *
+ * <p>The buffer can also be refilled while reading: {@link #next()} returns
+ * {@code false} with the position of the buffer at the start of an incomplete
+ * record, so the buffer can be compacted, filled from a channel, flipped, and
+ * read again. The parts of a record are read from the buffer, so they are only
+ * valid until the buffer is changed.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @since 0.4
+ * @see NameRecordWriter
+ */
+public final class NameRecordReader {
+
+    private static final NamePart[] PARTS = NamePart.values();
+
+    private final ByteBuffer in;
+    private final String[] dictionary;
+    private final byte[][] dictionaryUtf8;
+    /** The index in the buffer of the UTF-8 bytes of each part, or -1 for dictionary parts. */
+    private final int[] starts = new int[PARTS.length];
+    /** The length of the UTF-8 bytes of each part, or the dictionary id. */
+    private final int[] lengths = new int[PARTS.length];
+    private char[] chars = new char[64];
+    private boolean hasRecord;
+    /** The index after the last varint read. */
+    private int varintEnd;
+
+    /**
+     * Create a reader, reading the header at the position of the buffer. The
+     * whole header must be in the buffer.
+     * @param in the buffer
+     * @throws IllegalArgumentException if the buffer does not start with a header
+     */
+    public NameRecordReader(ByteBuffer in) {
+        this.in = in;
+        final byte[] magic = new byte[NameRecordWriter.MAGIC.length];
+        if (in.remaining() < magic.length + 1) {
+            throw new IllegalArgumentException("Missing name record header");
+        }
+        in.get(magic);
+        final byte version = in.get();
+        if (!Arrays.equals(magic, NameRecordWriter.MAGIC) || version != NameRecordWriter.VERSION) {
+            throw new IllegalArgumentException("Invalid name record header");
+        }
+        final int size = readVarint();
+        dictionary = new String[size];
+        dictionaryUtf8 = new byte[size][];
+        for (int id = 0; id < size; id++) {
+            final int length = readVarint();
+            if (length > in.remaining()) {
+                throw new IllegalArgumentException("Truncated name record header");
+            }
+            dictionaryUtf8[id] = new byte[length];
+            in.get(dictionaryUtf8[id]);
+            dictionary[id] = new String(chars, 0, decode(ByteBuffer.wrap(dictionaryUtf8[id]), 0, length));
+        }
+    }
+
+    private int readVarint() {
+        final int value = varint(in.position());
+        if (value < 0) {
+            throw new IllegalArgumentException("Truncated name record header");
+        }
+        NameRecordWriter.skip(in, varintEnd);
+        return value;
+    }
+
+    /**
+     * Reads a varint at an index of the buffer, setting {@link #varintEnd}.
+     * @return the value, or {@code -1} if the varint goes past the limit of the buffer
+     */
+    private int varint(int index) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (index >= in.limit()) {
+                return -1;
+            }
+            final byte b = in.get(index++);
+            value |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                varintEnd = index;
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Invalid varint in name record at " + index);
+    }
+
+    /**
+     * Gets the number of values in the dictionary.
+     * @return the number of values
+     */
+    public int getDictionarySize() {
+        return dictionary.length;
+    }
+
+    /**
+     * Moves to the next record, at the position of the buffer.
+     * @return {@code false} if there is no complete record left in the buffer,
+     *         in which case the position of the buffer is not changed
+     * @throws IllegalArgumentException if the record is invalid
+     */
+    public boolean next() {
+        hasRecord = false;
+        final int start = in.position();
+        final int length = varint(start);
+        if (length < 0) {
+            return false;
+        }
+        int index = varintEnd;
+        final int end = index + length;
+        if (end > in.limit() || end < 0) {
+            return false;
+        }
+        for (NamePart part : PARTS) {
+            final int header = varint(index);
+            if (header < 0) {
+                throw new IllegalArgumentException("Truncated name record at " + start);
+            }
+            index = varintEnd;
+            final int p = part.ordinal();
+            if ((header & 1) != 0) {
+                if (header >>> 1 >= dictionary.length) {
+                    throw new IllegalArgumentException("Invalid dictionary id in name record at " + start);
+                }
+                starts[p] = -1;
+                lengths[p] = header >>> 1;
+            } else {
+                starts[p] = index;
+                lengths[p] = header >>> 1;
+                index += lengths[p];
+            }
+        }
+        if (index != end) {
+            throw new IllegalArgumentException("Invalid name record length at " + start);
+        }
+        NameRecordWriter.skip(in, end);
+        hasRecord = true;
+        return true;
+    }
+
+    private void checkRecord() {
+        if (!hasRecord) {
+            throw new IllegalStateException("No current record");
+        }
+    }
+
+    /**
+     * Checks whether a part of the current record is empty.
+     * @param part the part
+     * @return {@code true} if the part is empty
+     */
+    public boolean isEmpty(NamePart part) {
+        checkRecord();
+        return starts[part.ordinal()] >= 0 && lengths[part.ordinal()] == 0;
+    }
+
+    /**
+     * Gets the dictionary id of a part of the current record. Parts with the
+     * same id are equal, so they can be compared or counted without decoding.
+     * @param part the part
+     * @return the id, or {@code -1} if the part is not in the dictionary
+     */
+    public int getDictionaryId(NamePart part) {
+        checkRecord();
+        return starts[part.ordinal()] < 0 ? lengths[part.ordinal()] : -1;
+    }
+
+    /**
+     * Gets the UTF-8 bytes of a part of the current record, without copying
+     * them: the returned buffer shares the bytes of the read buffer, or of the
+     * dictionary.
+     * @param part the part
+     * @return a read-only buffer of the bytes
+     */
+    public ByteBuffer getUtf8(NamePart part) {
+        checkRecord();
+        final int p = part.ordinal();
+        if (starts[p] < 0) {
+            return ByteBuffer.wrap(dictionaryUtf8[lengths[p]]).asReadOnlyBuffer();
+        }
+        final ByteBuffer bytes = in.asReadOnlyBuffer();
+        final Buffer buffer = bytes;
+        buffer.limit(starts[p] + lengths[p]);
+        buffer.position(starts[p]);
+        return bytes.slice();
+    }
+
+    /**
+     * Gets a part of the current record.
+     * @param part the part
+     * @return the part, an empty {@code String} if the part is empty
+     */
+    public String get(NamePart part) {
+        checkRecord();
+        final int p = part.ordinal();
+        if (starts[p] < 0) {
+            return dictionary[lengths[p]];
+        }
+        return new String(chars, 0, decode(in, starts[p], lengths[p]));
+    }
+
+    /**
+     * Reads all the parts of the current record. Once the buffer of the
+     * result has grown to fit the longest name, this does not allocate.
+     * @param result the holder for the parts of the name
+     */
+    public void read(NameParts result) {
+        checkRecord();
+        result.clear();
+        for (NamePart part : PARTS) {
+            final int p = part.ordinal();
+            if (starts[p] < 0) {
+                final String value = dictionary[lengths[p]];
+                ensureCapacity(value.length());
+                value.getChars(0, value.length(), chars, 0);
+                result.set(part, chars, 0, value.length());
+            } else {
+                result.set(part, chars, 0, decode(in, starts[p], lengths[p]));
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > chars.length) {
+            chars = new char[Math.max(capacity, chars.length * 2)];
+        }
+    }
+
+    /**
+     * Decodes bytes into the chars, reversing {@code NameRecordWriter}: UTF-8,
+     * where 3-byte sequences may also be unpaired surrogates.
+     * @return the number of chars
+     */
+    private int decode(ByteBuffer src, int start, int byteLength) {
+        // at most one char per byte
+        ensureCapacity(byteLength);
+        int length = 0;
+        int i = start;
+        final int end = start + byteLength;
+        while (i < end) {
+            final int b = src.get(i++) & 0xff;
+            if (b < 0x80) {
+                chars[length++] = (char) b;
+            } else if (b >= 0xc0 && b < 0xe0 && i < end) {
+                chars[length++] = (char) ((b & 0x1f) << 6 | src.get(i++) & 0x3f);
+            } else if (b >= 0xe0 && b < 0xf0 && i + 1 < end) {
+                chars[length++] = (char) ((b & 0x0f) << 12 | (src.get(i++) & 0x3f) << 6 | src.get(i++) & 0x3f);
+            } else if (b >= 0xf0 && b < 0xf8 && i + 2 < end) {
+                final int cp = (b & 0x07) << 18 | (src.get(i++) & 0x3f) << 12 | (src.get(i++) & 0x3f) << 6
+                        | src.get(i++) & 0x3f;
+                chars[length++] = Character.highSurrogate(cp);
+                chars[length++] = Character.lowSurrogate(cp);
+            } else {
+                throw new IllegalArgumentException("Invalid UTF-8 in name record at " + (i - 1));
+            }
+        }
+        return length;
+    }
+}
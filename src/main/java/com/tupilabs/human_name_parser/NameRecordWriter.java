@@ -0,0 +1,273 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <p>Writes parsed names as compact binary records into {@code ByteBuffer}s, to
+ * pass them between the stages of a pipeline, or store them, without the cost
+ * of a text format. Read them with {@link NameRecordReader}.</p>
+ *
+ * <p>The records follow a header holding an optional dictionary of common
+ * parts, like frequent first and last names. Each record is its length, then
+ * the eight parts, in {@link NamePart} order, each either a reference to the
+ * dictionary or its UTF-8 bytes:</p>
+ *
+ * <pre>
+ * header: 'H' 'N' 'P' 'R' version:u8 count:varint (length:varint utf8)*count
+ * record: length:varint (id &lt;&lt; 1 | 1 : varint | length &lt;&lt; 1 : varint utf8)*8
+ * </pre>
+ *
+ * <p>The varints are unsigned LEB128, so a short part takes a single byte more
+ * than its chars, and an empty part or a part in the dictionary among its first
+ * 64 entries takes a single byte. Unpaired surrogates are written as 3-byte
+ * sequences, so the parts read back are always equal to the parts written.</p>
+ *
+ * <pre>
+ * NameRecordWriter writer = new NameRecordWriter(commonParts);
+ * writer.writeHeader(buffer);
+ * for (String name : names) {
+ *     parser.parse(name, parts);
+ *     if (!writer.write(parts, buffer)) {
+ *         // flush the buffer to a channel, clear it, and write again
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @since 0.4
+ * @see NameRecordReader
+ */
+public final class NameRecordWriter {
+
+    static final byte[] MAGIC = {'H', 'N', 'P', 'R'};
+    static final byte VERSION = 1;
+
+    private static final NamePart[] PARTS = NamePart.values();
+
+    private final StringDictionary dictionary = new StringDictionary();
+    private final List<byte[]> dictionaryUtf8 = new ArrayList<>();
+    /** The dictionary id of each part of the record being written, or -1. */
+    private final int[] ids = new int[PARTS.length];
+    /** The UTF-8 length of each part of the record being written. */
+    private final int[] lengths = new int[PARTS.length];
+
+    /**
+     * Create a writer without a dictionary.
+     */
+    public NameRecordWriter() {
+        this(new ArrayList<String>());
+    }
+
+    /**
+     * Create a writer encoding the parts equal to values of a dictionary as
+     * references to it. The dictionary is written in the header, so it should
+     * hold at most a few thousand values, that are frequent in the names.
+     * @param dictionary the dictionary values, duplicates and empty values are ignored
+     * @see NameStreams#countingBy(NamePart)
+     */
+    public NameRecordWriter(Collection<String> dictionary) {
+        for (String value : dictionary) {
+            final char[] chars = value.toCharArray();
+            if (chars.length > 0 && this.dictionary.find(chars, 0, chars.length) < 0) {
+                this.dictionary.add(chars, 0, chars.length);
+                final byte[] utf8 = new byte[utf8Length(chars, 0, chars.length)];
+                encode(chars, 0, chars.length, utf8, 0);
+                dictionaryUtf8.add(utf8);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of values in the dictionary.
+     * @return the number of values
+     */
+    public int getDictionarySize() {
+        return dictionary.size();
+    }
+
+    /**
+     * Writes the header, with the dictionary, at the position of the buffer.
+     * @param out the buffer
+     * @return {@code false} if the buffer has not enough space, in which case
+     *         nothing is written
+     */
+    public boolean writeHeader(ByteBuffer out) {
+        int length = MAGIC.length + 1 + varintLength(dictionaryUtf8.size());
+        for (byte[] utf8 : dictionaryUtf8) {
+            length += varintLength(utf8.length) + utf8.length;
+        }
+        if (out.remaining() < length) {
+            return false;
+        }
+        out.put(MAGIC).put(VERSION);
+        writeVarint(out, dictionaryUtf8.size());
+        for (byte[] utf8 : dictionaryUtf8) {
+            writeVarint(out, utf8.length);
+            out.put(utf8);
+        }
+        return true;
+    }
+
+    /**
+     * Writes a record at the position of the buffer.
+     * @param parts the parts of the name
+     * @param out the buffer
+     * @return {@code false} if the buffer has not enough space, in which case
+     *         nothing is written
+     */
+    public boolean write(NameParts parts, ByteBuffer out) {
+        final char[] chars = parts.buffer();
+        int length = 0;
+        for (NamePart part : PARTS) {
+            final int p = part.ordinal();
+            final int start = parts.start(part);
+            final int end = start + parts.length(part);
+            ids[p] = start == end ? -1 : dictionary.find(chars, start, end);
+            if (ids[p] >= 0) {
+                length += varintLength(ids[p] << 1 | 1);
+            } else {
+                lengths[p] = utf8Length(chars, start, end);
+                length += varintLength(lengths[p] << 1) + lengths[p];
+            }
+        }
+        if (out.remaining() < varintLength(length) + length) {
+            return false;
+        }
+        writeVarint(out, length);
+        for (NamePart part : PARTS) {
+            final int p = part.ordinal();
+            if (ids[p] >= 0) {
+                writeVarint(out, ids[p] << 1 | 1);
+            } else {
+                writeVarint(out, lengths[p] << 1);
+                final int start = parts.start(part);
+                if (out.hasArray()) {
+                    final int position = out.position();
+                    encode(chars, start, start + parts.length(part), out.array(), out.arrayOffset() + position);
+                    skip(out, position + lengths[p]);
+                } else {
+                    encode(chars, start, start + parts.length(part), out);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sets the position of a buffer. The {@code ByteBuffer} override returning a
+     * {@code ByteBuffer} does not exist in Java 8.
+     */
+    static void skip(Buffer buffer, int position) {
+        buffer.position(position);
+    }
+
+    static int varintLength(int value) {
+        int length = 1;
+        while ((value >>>= 7) != 0) {
+            length++;
+        }
+        return length;
+    }
+
+    static void writeVarint(ByteBuffer out, int value) {
+        while ((value & ~0x7f) != 0) {
+            out.put((byte) (value & 0x7f | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Gets the length of chars encoded as UTF-8, with unpaired surrogates as
+     * 3-byte sequences.
+     */
+    static int utf8Length(char[] chars, int start, int end) {
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            final char c = chars[i];
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static void encode(char[] chars, int start, int end, byte[] out, int offset) {
+        for (int i = start; i < end; i++) {
+            final char c = chars[i];
+            if (c < 0x80) {
+                out[offset++] = (byte) c;
+            } else if (c < 0x800) {
+                out[offset++] = (byte) (0xc0 | c >> 6);
+                out[offset++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+                final int cp = Character.toCodePoint(c, chars[++i]);
+                out[offset++] = (byte) (0xf0 | cp >> 18);
+                out[offset++] = (byte) (0x80 | cp >> 12 & 0x3f);
+                out[offset++] = (byte) (0x80 | cp >> 6 & 0x3f);
+                out[offset++] = (byte) (0x80 | cp & 0x3f);
+            } else {
+                out[offset++] = (byte) (0xe0 | c >> 12);
+                out[offset++] = (byte) (0x80 | c >> 6 & 0x3f);
+                out[offset++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+    }
+
+    private static void encode(char[] chars, int start, int end, ByteBuffer out) {
+        for (int i = start; i < end; i++) {
+            final char c = chars[i];
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xc0 | c >> 6));
+                out.put((byte) (0x80 | c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+                final int cp = Character.toCodePoint(c, chars[++i]);
+                out.put((byte) (0xf0 | cp >> 18));
+                out.put((byte) (0x80 | cp >> 12 & 0x3f));
+                out.put((byte) (0x80 | cp >> 6 & 0x3f));
+                out.put((byte) (0x80 | cp & 0x3f));
+            } else {
+                out.put((byte) (0xe0 | c >> 12));
+                out.put((byte) (0x80 | c >> 6 & 0x3f));
+                out.put((byte) (0x80 | c & 0x3f));
+            }
+        }
+    }
+}
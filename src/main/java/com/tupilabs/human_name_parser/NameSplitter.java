@@ -0,0 +1,106 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Splits a string holding several people, like {@code "John and Jane Smith"},
+ * {@code "Dr. A. Jones & Mr. B. Jones"} or {@code "Smith, John; Doe, Jane"}, into
+ * one string per person.</p>
+ *
+ * <p>The input is scanned once. People are separated by {@code ;}, {@code &amp;}
+ * or by the word {@code and}. Separators inside parentheses or double quotes
+ * (e.g. a nickname) are ignored. Commas are never treated as separators, as they
+ * are used for the {@code last, first} form.</p>
+ *
+ * @since 0.4
+ */
+final class NameSplitter {
+
+    private NameSplitter() {
+    }
+
+    /**
+     * Splits the input into the names of each person.
+     *
+     * @param input the input string
+     * @return the trimmed, non-empty names, in the order they appear
+     */
+    static List<String> split(String input) {
+        final List<String> names = new ArrayList<>();
+        final int length = input.length();
+        int start = 0;
+        int parentheses = 0;
+        boolean quoted = false;
+        int i = 0;
+        while (i < length) {
+            final char c = input.charAt(i);
+            int separatorLength = 0;
+            if (c == '(') {
+                parentheses++;
+            } else if (c == ')') {
+                parentheses = Math.max(0, parentheses - 1);
+            } else if (c == '"') {
+                quoted = !quoted;
+            } else if (parentheses == 0 && !quoted) {
+                if (c == ';' || c == '&') {
+                    separatorLength = 1;
+                } else if (isAnd(input, i)) {
+                    separatorLength = 3;
+                }
+            }
+            if (separatorLength > 0) {
+                addName(names, input, start, i);
+                i += separatorLength;
+                start = i;
+            } else {
+                i++;
+            }
+        }
+        addName(names, input, start, length);
+        return names;
+    }
+
+    /**
+     * Checks whether the word {@code and} (in any case) starts at {@code index}
+     * and is surrounded by whitespace.
+     */
+    private static boolean isAnd(String input, int index) {
+        if (index == 0 || index + 3 >= input.length()) {
+            return false;
+        }
+        return Character.isWhitespace(input.charAt(index - 1))
+                && input.regionMatches(true, index, "and", 0, 3)
+                && Character.isWhitespace(input.charAt(index + 3));
+    }
+
+    private static void addName(List<String> names, String input, int start, int end) {
+        final String name = input.substring(start, end).trim();
+        if (!name.isEmpty()) {
+            names.add(name);
+        }
+    }
+}
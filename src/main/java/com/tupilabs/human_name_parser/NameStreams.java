@@ -0,0 +1,250 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Parses streams of names, and collects the results to compact or aggregate
+ * forms.</p>
+ *
+ * <pre>
+ * try (Stream&lt;String&gt; lines = Files.lines(path)) {
+ *     Map&lt;String, Long&gt; surnames = NameStreams.parseReusing(lines.parallel())
+ *             .collect(NameStreams.countingBy(NamePart.LAST));
+ * }
+ * </pre>
+ *
+ * <p>The names are parsed lazily, as the stream is traversed, by one
+ * {@link ReusableNameParser} per split of the stream, and split the same way
+ * as the stream of names. The streams of {@link #parse(Stream)} hold a new
+ * {@link ParseResult} per name. To avoid allocating per name, the streams of
+ * {@link #parseReusing(Stream)} pass the same result for every name of a
+ * split, overwritten by the next name: the collectors here only read it, but
+ * operations keeping results, such as {@code sorted()}, {@code distinct()} or
+ * {@code collect(toList())}, must {@link ParseResult#copy() copy} them
+ * first.</p>
+ *
+ * @since 0.4
+ */
+public final class NameStreams {
+
+    private NameStreams() {
+    }
+
+    /**
+     * Parses a stream of names with the default grammar, into a new result per
+     * name.
+     * @param names the names
+     * @return the results, parallel if the names are
+     */
+    public static Stream<ParseResult> parse(Stream<? extends CharSequence> names) {
+        return parse(names, NameGrammar.defaultGrammar());
+    }
+
+    /**
+     * Parses a stream of names, into a new result per name.
+     * @param names the names
+     * @param grammar the grammar
+     * @return the results, parallel if the names are
+     */
+    public static Stream<ParseResult> parse(Stream<? extends CharSequence> names, NameGrammar grammar) {
+        return stream(names, grammar, false);
+    }
+
+    /**
+     * Parses a stream of names with the default grammar, reusing one result
+     * per split of the stream. Each result is only valid until the next name.
+     * @param names the names
+     * @return the results, parallel if the names are
+     */
+    public static Stream<ParseResult> parseReusing(Stream<? extends CharSequence> names) {
+        return parseReusing(names, NameGrammar.defaultGrammar());
+    }
+
+    /**
+     * Parses a stream of names, reusing one result per split of the stream.
+     * Each result is only valid until the next name.
+     * @param names the names
+     * @param grammar the grammar
+     * @return the results, parallel if the names are
+     */
+    public static Stream<ParseResult> parseReusing(Stream<? extends CharSequence> names, NameGrammar grammar) {
+        return stream(names, grammar, true);
+    }
+
+    private static Stream<ParseResult> stream(Stream<? extends CharSequence> names, NameGrammar grammar,
+            boolean reuse) {
+        return StreamSupport.stream(new ParsingSpliterator(names.spliterator(), grammar, reuse), names.isParallel())
+                .onClose(names::close);
+    }
+
+    /**
+     * Parses the names of a spliterator, into a new result per name.
+     * @param names the names
+     * @param grammar the grammar
+     * @return the results
+     */
+    public static Spliterator<ParseResult> spliterator(Spliterator<? extends CharSequence> names,
+            NameGrammar grammar) {
+        return new ParsingSpliterator(names, grammar, false);
+    }
+
+    /**
+     * Parses the names of a spliterator, reusing one result per split. Each
+     * result is only valid until the next name.
+     * @param names the names
+     * @param grammar the grammar
+     * @return the results
+     */
+    public static Spliterator<ParseResult> spliteratorReusing(Spliterator<? extends CharSequence> names,
+            NameGrammar grammar) {
+        return new ParsingSpliterator(names, grammar, true);
+    }
+
+    /**
+     * Creates a function parsing names with the default grammar, e.g. for
+     * {@link Stream#map(Function)}. Each call returns a new result.
+     * @return the function, which is thread-safe
+     */
+    public static Function<CharSequence, ParseResult> parser() {
+        return parser(NameGrammar.defaultGrammar());
+    }
+
+    /**
+     * Creates a function parsing names, e.g. for {@link Stream#map(Function)}.
+     * Each call returns a new result.
+     * @param grammar the grammar
+     * @return the function, which is thread-safe
+     */
+    public static Function<CharSequence, ParseResult> parser(NameGrammar grammar) {
+        final ThreadLocal<ReusableNameParser> parsers = ThreadLocal.withInitial(() -> new ReusableNameParser(grammar));
+        return name -> new ParseResult().parse(parsers.get(), name);
+    }
+
+    /**
+     * Counts the names by a part, e.g. the number of names per surname,
+     * without keeping the results. Names that could not be parsed, or with an
+     * empty part, are not counted.
+     * @param part the part
+     * @return the collector
+     */
+    public static Collector<ParseResult, ?, Map<String, Long>> countingBy(NamePart part) {
+        return Collector.of(
+                PartCounts::new,
+                (counts, result) -> counts.add(result, part),
+                PartCounts::addAll,
+                PartCounts::toMap,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Collects the failures: a count per reason, and a sample of the names
+     * that could not be parsed. The samples have no row.
+     * @param samplesPerReason how many failed names to keep for each reason
+     * @return the collector
+     */
+    public static Collector<ParseResult, ?, FailureStats> failureStats(int samplesPerReason) {
+        return Collector.of(
+                () -> new FailureStats(samplesPerReason),
+                (stats, result) -> {
+                    if (!result.isParsed()) {
+                        stats.add(0, result.getFailure(), result.getInput());
+                    }
+                },
+                (left, right) -> {
+                    left.merge(right);
+                    return left;
+                },
+                Collector.Characteristics.UNORDERED,
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Collects the parsed names to columns, in encounter order. Names that
+     * could not be parsed are skipped.
+     * @return the collector
+     */
+    public static Collector<ParseResult, ?, NameColumns> toColumns() {
+        return Collector.of(
+                NameColumns::new,
+                (columns, result) -> {
+                    if (result.isParsed()) {
+                        columns.add(result.getParts());
+                    }
+                },
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                },
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * The counts of a part, by id in a dictionary of the part values.
+     */
+    private static final class PartCounts {
+
+        private final StringDictionary dictionary = new StringDictionary();
+        private long[] counts = new long[16];
+
+        void add(ParseResult result, NamePart part) {
+            final NameParts parts = result.getParts();
+            final int length = parts.length(part);
+            if (result.isParsed() && length > 0) {
+                final int start = parts.start(part);
+                count(dictionary.add(parts.buffer(), start, start + length), 1);
+            }
+        }
+
+        private void count(int id, long count) {
+            if (id >= counts.length) {
+                counts = Arrays.copyOf(counts, Math.max(id + 1, counts.length * 2));
+            }
+            counts[id] += count;
+        }
+
+        PartCounts addAll(PartCounts other) {
+            for (int id = 0; id < other.dictionary.size(); id++) {
+                count(dictionary.add(other.dictionary, id), other.counts[id]);
+            }
+            return this;
+        }
+
+        Map<String, Long> toMap() {
+            final Map<String, Long> map = new HashMap<>(dictionary.size() * 4 / 3 + 1);
+            for (int id = 0; id < dictionary.size(); id++) {
+                map.put(dictionary.get(id), counts[id]);
+            }
+            return map;
+        }
+    }
+}
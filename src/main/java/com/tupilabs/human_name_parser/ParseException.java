@@ -35,10 +35,16 @@ public class ParseException extends RuntimeException {
      */
     private static final long serialVersionUID = -2375904385006224156L;
 
+    /**
+     * Why the name could not be parsed.
+     */
+    private final FailureReason reason;
+
     /**
      * Constructor.
      */
     public ParseException() {
+        this.reason = FailureReason.OTHER;
     }
 
     /**
@@ -47,6 +53,18 @@ public class ParseException extends RuntimeException {
      */
     public ParseException(String message) {
         super(message);
+        this.reason = FailureReason.OTHER;
+    }
+
+    /**
+     * Constructor with reason and message.
+     * @param reason why the name could not be parsed
+     * @param message message
+     * @since 0.4
+     */
+    public ParseException(FailureReason reason, String message) {
+        super(message);
+        this.reason = reason;
     }
 
     /**
@@ -55,6 +73,7 @@ public class ParseException extends RuntimeException {
      */
     public ParseException(Throwable cause) {
         super(cause);
+        this.reason = FailureReason.OTHER;
     }
 
     /**
@@ -64,6 +83,7 @@ public class ParseException extends RuntimeException {
      */
     public ParseException(String message, Throwable cause) {
         super(message, cause);
+        this.reason = FailureReason.OTHER;
     }
 
     /**
@@ -76,6 +96,17 @@ public class ParseException extends RuntimeException {
     public ParseException(String message, Throwable cause,
             boolean enableSuppression, boolean writableStackTrace) {
         super(message, cause, enableSuppression, writableStackTrace);
+        this.reason = FailureReason.OTHER;
+    }
+
+    /**
+     * Gets why the name could not be parsed.
+     * @return the reason, {@code OTHER} if it was not given
+     * @since 0.4
+     */
+    public FailureReason getReason() {
+        // null when given, or when deserialized from a version without reasons
+        return reason == null ? FailureReason.OTHER : reason;
     }
 
 }
@@ -0,0 +1,117 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+/**
+ * <p>The result of parsing a name in a stream: the input, and either its parts
+ * or the reason it could not be parsed.</p>
+ *
+ * <p>The streams of {@link NameStreams#parseReusing(java.util.stream.Stream)}
+ * reuse one result per split of the input, so a result is only valid until the
+ * next element of the stream. Use {@link #copy()} to keep it, e.g. before
+ * sorting or collecting to a list.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @since 0.4
+ */
+public final class ParseResult {
+
+    private CharSequence input;
+    private final NameParts parts;
+    private FailureReason failure;
+
+    /**
+     * Create an empty result.
+     */
+    public ParseResult() {
+        this(new NameParts());
+    }
+
+    private ParseResult(NameParts parts) {
+        this.parts = parts;
+    }
+
+    /**
+     * Parses a name into this result.
+     * @param parser the parser
+     * @param name the name
+     * @return this result
+     */
+    ParseResult parse(ReusableNameParser parser, CharSequence name) {
+        this.input = name;
+        try {
+            parser.parse(name, parts);
+            this.failure = null;
+        } catch (ParseException e) {
+            parts.clear();
+            this.failure = e.getReason();
+        }
+        return this;
+    }
+
+    public CharSequence getInput() {
+        return input;
+    }
+
+    /**
+     * Gets the parts of the name, all empty if the name could not be parsed.
+     * @return the parts
+     */
+    public NameParts getParts() {
+        return parts;
+    }
+
+    /**
+     * Checks whether the name was parsed.
+     * @return {@code true} if the name was parsed
+     */
+    public boolean isParsed() {
+        return failure == null;
+    }
+
+    /**
+     * Gets the reason the name could not be parsed.
+     * @return the reason, or {@code null} if the name was parsed
+     */
+    public FailureReason getFailure() {
+        return failure;
+    }
+
+    /**
+     * Creates an independent copy of this result.
+     * @return a copy
+     */
+    public ParseResult copy() {
+        final ParseResult copy = new ParseResult(parts.copy());
+        copy.input = input == null ? null : input.toString();
+        copy.failure = failure;
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseResult[input=" + input + ", " + (failure == null ? parts : "failure=" + failure) + "]";
+    }
+}
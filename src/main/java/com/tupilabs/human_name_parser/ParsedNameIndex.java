@@ -0,0 +1,290 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * <p>An in-memory index of parsed names, to find the candidate matches of a name in
+ * a large reference set, e.g. for record linkage.</p>
+ *
+ * <p>Names are indexed by their folded last name (see {@link NameKey#LAST_FOLDED}).
+ * A name matches an indexed name with the same folded last name when their first
+ * names are equivalent:</p>
+ *
+ * <ul>
+ * <li>the same folded first name, or either first name is unknown</li>
+ * <li>one of the first names is an initial of the other, like "B." and "Bjorn"</li>
+ * <li>the first name of one is a nickname of the other, like "Bill" and
+ * "William ('Bill')", or they share a nickname</li>
+ * </ul>
+ *
+ * <p>The folded strings are dictionary-encoded, and the names are stored in
+ * {@code int} arrays, with no object per name. The names must be parsed with the
+ * {@link #KEYS} of the index, which are read from the {@code NameParts}:</p>
+ *
+ * <pre>
+ * ReusableNameParser parser = new ReusableNameParser().setKeys(ParsedNameIndex.KEYS);
+ * NameParts parts = new NameParts();
+ * ParsedNameIndex index = new ParsedNameIndex();
+ * for (String name : referenceNames) {
+ *     parser.parse(name, parts);
+ *     index.add(parts);
+ * }
+ * int[] candidates = new int[64];
+ * parser.parse("B. O'Malley", parts);
+ * int count = index.lookup(parts, candidates);
+ * </pre>
+ *
+ * <p>This class is not thread-safe for additions. Lookups can run concurrently
+ * once no more names are added.</p>
+ *
+ * @since 0.4
+ */
+public final class ParsedNameIndex {
+
+    /**
+     * The keys that the parser must compute for the names given to the index.
+     */
+    public static final Set<NameKey> KEYS = Collections.unmodifiableSet(
+            EnumSet.of(NameKey.FIRST_FOLDED, NameKey.LAST_FOLDED, NameKey.NICKNAMES_FOLDED));
+
+    private static final int NONE = -1;
+
+    private final StringDictionary dictionary;
+
+    // per name
+    private int[] lastIds;
+    private int[] firstIds;
+    private int[] nicknameIds;
+    private char[] initials;
+    /** The next name with the same last name. */
+    private int[] next;
+    private int size;
+
+    /** The last name added with each last name id. */
+    private int[] heads;
+
+    /**
+     * Create an empty index.
+     */
+    public ParsedNameIndex() {
+        this.dictionary = new StringDictionary();
+        this.lastIds = new int[1024];
+        this.firstIds = new int[1024];
+        this.nicknameIds = new int[1024];
+        this.initials = new char[1024];
+        this.next = new int[1024];
+        this.heads = new int[1024];
+        Arrays.fill(heads, NONE);
+    }
+
+    /**
+     * Adds a name to the index.
+     *
+     * @param parts the parsed name, with the {@link #KEYS} of the index
+     * @return the number of the name in the index, starting at 0 in the order
+     *         the names are added
+     * @throws IllegalArgumentException if the name has no folded last name key
+     */
+    public int add(NameParts parts) {
+        final int lastLength = parts.keyLength(NameKey.LAST_FOLDED);
+        if (lastLength == 0) {
+            throw new IllegalArgumentException("The name has no folded last name. Parse it with the keys "
+                    + KEYS + " of the index: " + parts);
+        }
+        if (size == lastIds.length) {
+            final int capacity = Math.max(16, size * 2);
+            lastIds = Arrays.copyOf(lastIds, capacity);
+            firstIds = Arrays.copyOf(firstIds, capacity);
+            nicknameIds = Arrays.copyOf(nicknameIds, capacity);
+            initials = Arrays.copyOf(initials, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        final char[] keys = parts.keyBuffer();
+        final int lastStart = parts.keyStart(NameKey.LAST_FOLDED);
+        final int lastId = dictionary.add(keys, lastStart, lastStart + lastLength);
+        final int firstId = addKey(parts, NameKey.FIRST_FOLDED);
+        final int entry = size++;
+        lastIds[entry] = lastId;
+        firstIds[entry] = firstId;
+        nicknameIds[entry] = addKey(parts, NameKey.NICKNAMES_FOLDED);
+        initials[entry] = firstId == NONE ? 0 : dictionary.charAt(firstId, 0);
+        if (lastId >= heads.length) {
+            final int oldLength = heads.length;
+            heads = Arrays.copyOf(heads, Math.max(lastId + 1, oldLength * 2));
+            Arrays.fill(heads, oldLength, heads.length, NONE);
+        }
+        next[entry] = heads[lastId];
+        heads[lastId] = entry;
+        return entry;
+    }
+
+    /**
+     * Finds the indexed names matching a name.
+     *
+     * @param query the parsed name, with the {@link #KEYS} of the index
+     * @param candidates where the numbers of the matching names are written, most
+     *                   recently added first
+     * @return the number of matching names, which may be greater than the length of
+     *         {@code candidates}, in which case only the first ones were written
+     */
+    public int lookup(NameParts query, int[] candidates) {
+        final char[] keys = query.keyBuffer();
+        final int lastStart = query.keyStart(NameKey.LAST_FOLDED);
+        final int lastLength = query.keyLength(NameKey.LAST_FOLDED);
+        if (lastLength == 0) {
+            return 0;
+        }
+        final int lastId = dictionary.find(keys, lastStart, lastStart + lastLength);
+        if (lastId == NONE || lastId >= heads.length) {
+            // unknown, or only known as a first name or nickname
+            return 0;
+        }
+        final int firstLength = query.keyLength(NameKey.FIRST_FOLDED);
+        final int firstStart = query.keyStart(NameKey.FIRST_FOLDED);
+        final int firstId = firstLength == 0 ? NONE : dictionary.find(keys, firstStart, firstStart + firstLength);
+        final char initial = firstLength == 0 ? 0 : keys[firstStart];
+        final int nicknameLength = query.keyLength(NameKey.NICKNAMES_FOLDED);
+        final int nicknameStart = query.keyStart(NameKey.NICKNAMES_FOLDED);
+        final int nicknameId = nicknameLength == 0 ? NONE
+                : dictionary.find(keys, nicknameStart, nicknameStart + nicknameLength);
+
+        int count = 0;
+        for (int entry = heads[lastId]; entry != NONE; entry = next[entry]) {
+            if (firstLength == 0 || matchesFirst(entry, firstId, firstLength, initial, nicknameId)) {
+                if (count < candidates.length) {
+                    candidates[count] = entry;
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private boolean matchesFirst(int entry, int firstId, int firstLength, char initial, int nicknameId) {
+        final int entryFirstId = firstIds[entry];
+        if (entryFirstId == NONE || entryFirstId == firstId) {
+            return true;
+        }
+        // initials
+        if ((firstLength == 1 || dictionary.length(entryFirstId) == 1) && initials[entry] == initial) {
+            return true;
+        }
+        // nicknames
+        final int entryNicknameId = nicknameIds[entry];
+        return firstId != NONE && firstId == entryNicknameId
+                || nicknameId != NONE && (nicknameId == entryFirstId || nicknameId == entryNicknameId);
+    }
+
+    private int addKey(NameParts parts, NameKey key) {
+        final int length = parts.keyLength(key);
+        if (length == 0) {
+            return NONE;
+        }
+        final int start = parts.keyStart(key);
+        return dictionary.add(parts.keyBuffer(), start, start + length);
+    }
+
+    /**
+     * Gets the number of indexed names.
+     * @return the number of names
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the folded first name of an indexed name.
+     * @param entry the number of the name
+     * @return the folded first name, or an empty {@code String}
+     */
+    public String getFirst(int entry) {
+        return getString(firstIds, entry);
+    }
+
+    /**
+     * Gets the folded last name of an indexed name.
+     * @param entry the number of the name
+     * @return the folded last name
+     */
+    public String getLast(int entry) {
+        return getString(lastIds, entry);
+    }
+
+    /**
+     * Gets the folded nicknames of an indexed name.
+     * @param entry the number of the name
+     * @return the folded nicknames, or an empty {@code String}
+     */
+    public String getNicknames(int entry) {
+        return getString(nicknameIds, entry);
+    }
+
+    private String getString(int[] ids, int entry) {
+        if (entry < 0 || entry >= size) {
+            throw new IndexOutOfBoundsException(String.valueOf(entry));
+        }
+        return ids[entry] == NONE ? "" : dictionary.get(ids[entry]);
+    }
+
+    /**
+     * Gets the number of distinct folded strings in the index.
+     * @return the number of strings
+     */
+    public int dictionarySize() {
+        return dictionary.size();
+    }
+
+    /**
+     * Gets the approximate number of bytes used by the index.
+     * @return the number of bytes
+     */
+    public long estimatedBytes() {
+        return dictionary.estimatedBytes()
+                + 4L * (lastIds.length + firstIds.length + nicknameIds.length + next.length + heads.length)
+                + 2L * initials.length;
+    }
+
+    /**
+     * Shrinks the arrays of the index to its current size, once no more names will
+     * be added.
+     */
+    public void trimToSize() {
+        lastIds = Arrays.copyOf(lastIds, size);
+        firstIds = Arrays.copyOf(firstIds, size);
+        nicknameIds = Arrays.copyOf(nicknameIds, size);
+        initials = Arrays.copyOf(initials, size);
+        next = Arrays.copyOf(next, size);
+        int lastHead = heads.length;
+        while (lastHead > 0 && heads[lastHead - 1] == NONE) {
+            lastHead--;
+        }
+        heads = Arrays.copyOf(heads, lastHead);
+        dictionary.trimToSize();
+    }
+}
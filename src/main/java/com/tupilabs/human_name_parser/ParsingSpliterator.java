@@ -0,0 +1,104 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A spliterator parsing the names of another spliterator. Each split has its
+ * own parser, created when the split is first traversed, so a parallel stream
+ * parses without sharing or locking anything. When reusing, each split also
+ * passes the same result for every name.
+ *
+ * @since 0.4
+ */
+final class ParsingSpliterator implements Spliterator<ParseResult>, Consumer<CharSequence> {
+
+    private final Spliterator<? extends CharSequence> names;
+    private final NameGrammar grammar;
+    private final boolean reuse;
+    private ReusableNameParser parser;
+    private ParseResult result;
+    private Consumer<? super ParseResult> action;
+
+    ParsingSpliterator(Spliterator<? extends CharSequence> names, NameGrammar grammar, boolean reuse) {
+        this.names = names;
+        this.grammar = grammar;
+        this.reuse = reuse;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super ParseResult> action) {
+        init(action);
+        return names.tryAdvance(this);
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super ParseResult> action) {
+        init(action);
+        names.forEachRemaining(this);
+    }
+
+    private void init(Consumer<? super ParseResult> action) {
+        if (parser == null) {
+            parser = new ReusableNameParser(grammar);
+            if (reuse) {
+                result = new ParseResult();
+            }
+        }
+        this.action = action;
+    }
+
+    /**
+     * Parses a name of the source, and passes the result on.
+     * @param name the name
+     */
+    @Override
+    public void accept(CharSequence name) {
+        action.accept((reuse ? result : new ParseResult()).parse(parser, name));
+    }
+
+    @Override
+    public Spliterator<ParseResult> trySplit() {
+        final Spliterator<? extends CharSequence> split = names.trySplit();
+        return split == null ? null : new ParsingSpliterator(split, grammar, reuse);
+    }
+
+    @Override
+    public long estimateSize() {
+        return names.estimateSize();
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return names.getExactSizeIfKnown();
+    }
+
+    @Override
+    public int characteristics() {
+        // the results may be reused, and are not comparable
+        return names.characteristics() & ~(SORTED | DISTINCT) | NONNULL;
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>A bounded, concurrent interner for the parts of parsed names, to share one
+ * {@code String} between the many results with the same first or last name,
+ * when the results are kept in memory.</p>
+ *
+ * <pre>
+ * PartInterner interner = new PartInterner(65536);
+ * HumanNameParserParser parser = new HumanNameParserBuilder(name).withInterner(interner).build();
+ * // or, without creating a String for the parts found in the interner
+ * parts.setInterner(interner);
+ * </pre>
+ *
+ * <p>Unlike {@code String#intern()}, the interner holds a fixed number of
+ * strings: a table where each part has two candidate slots, chosen by its hash.
+ * A part found in one of its slots is a hit, and moves to the first slot;
+ * otherwise a new {@code String} is created and replaces the second slot. So the
+ * frequent parts stay in the table, and the rare ones only evict each other.
+ * Looking up a {@code char[]} range does not allocate when the part is found.</p>
+ *
+ * <p>The table is read and written without locks. A thread may miss a part
+ * another thread has just added, and create an equal {@code String}, but it
+ * never gets a wrong one, as {@code String}s are immutable.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @since 0.4
+ */
+public final class PartInterner {
+
+    private static final int DEFAULT_MAX_LENGTH = 32;
+
+    /**
+     * The approximate size of a {@code String} and its array, without the chars,
+     * on a 64-bit JVM with compressed references.
+     */
+    private static final int STRING_OVERHEAD = 40;
+
+    private final String[] table;
+    private final int mask;
+    private final int maxLength;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    /**
+     * Create an interner for parts of up to 32 chars.
+     * @param capacity the number of strings to hold, rounded up to a power of two
+     */
+    public PartInterner(int capacity) {
+        this(capacity, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Create an interner.
+     * @param capacity the number of strings to hold, rounded up to a power of two
+     * @param maxLength the length of the longest parts to intern; longer ones,
+     *     which seldom repeat, are returned as new strings
+     */
+    public PartInterner(int capacity, int maxLength) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("Invalid maximum length: " + maxLength);
+        }
+        final int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.table = new String[size];
+        this.mask = size - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Gets the interned {@code String} equal to a {@code String}.
+     * @param s the {@code String}
+     * @return an equal {@code String}, possibly the given one
+     */
+    public String intern(String s) {
+        final int length = s.length();
+        if (length == 0) {
+            return "";
+        }
+        if (length > maxLength) {
+            return s;
+        }
+        final int slot = slot(s.hashCode());
+        final String first = table[slot];
+        if (first != null && first.equals(s)) {
+            hit(length);
+            return first;
+        }
+        final String second = table[slot ^ 1];
+        if (second != null && second.equals(s)) {
+            promote(slot, first, second);
+            hit(length);
+            return second;
+        }
+        add(slot, first, s);
+        return s;
+    }
+
+    /**
+     * Gets the interned {@code String} with the chars of a {@code char[]} range,
+     * creating it if needed.
+     * @param chars the chars
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @return a {@code String} with the chars of the range
+     */
+    public String intern(char[] chars, int offset, int length) {
+        if (length == 0) {
+            return "";
+        }
+        if (length > maxLength) {
+            return new String(chars, offset, length);
+        }
+        // same hash as String#hashCode
+        int h = 0;
+        for (int i = offset; i < offset + length; i++) {
+            h = 31 * h + chars[i];
+        }
+        final int slot = slot(h);
+        final String first = table[slot];
+        if (matches(first, chars, offset, length)) {
+            hit(length);
+            return first;
+        }
+        final String second = table[slot ^ 1];
+        if (matches(second, chars, offset, length)) {
+            promote(slot, first, second);
+            hit(length);
+            return second;
+        }
+        final String s = new String(chars, offset, length);
+        add(slot, first, s);
+        return s;
+    }
+
+    /**
+     * Gets the first slot of a part, always even, followed by its second slot.
+     */
+    private int slot(int h) {
+        return (h ^ (h >>> 16)) & mask & ~1;
+    }
+
+    /**
+     * Moves a part found in the second slot to the first one, where it is not
+     * evicted by the next miss.
+     */
+    private void promote(int slot, String first, String second) {
+        table[slot] = second;
+        table[slot ^ 1] = first;
+    }
+
+    /**
+     * Adds a part to the first slot if it is empty, or else to the second slot,
+     * evicting the part that was not used last.
+     */
+    private void add(int slot, String first, String s) {
+        misses.increment();
+        table[first == null ? slot : slot ^ 1] = s;
+    }
+
+    private static boolean matches(String candidate, char[] chars, int offset, int length) {
+        if (candidate == null || candidate.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (candidate.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void hit(int length) {
+        hits.increment();
+        bytesSaved.add(STRING_OVERHEAD + length);
+    }
+
+    /**
+     * Gets the number of parts found in the interner.
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of parts not found in the interner, which were added.
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets an estimate of the heap saved by the hits: the size of the
+     * {@code String}s that would otherwise have been kept, assuming one byte per
+     * char, as most names fit in compact strings. The strings returned and then
+     * dropped by the caller are counted too, so this is an upper bound of the
+     * retained heap saved.
+     * @return the bytes saved
+     */
+    public long getEstimatedBytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    /**
+     * Gets the number of strings in the interner.
+     * @return the number of strings
+     */
+    public int size() {
+        int size = 0;
+        for (String s : table) {
+            if (s != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    public int getCapacity() {
+        return table.length;
+    }
+
+    /**
+     * Empties the interner and resets its counters.
+     */
+    public void clear() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = null;
+        }
+        hits.reset();
+        misses.reset();
+        bytesSaved.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "PartInterner[capacity=" + table.length + ", size=" + size() + ", hits=" + hits.sum()
+                + ", misses=" + misses.sum() + ", estimatedBytesSaved=" + bytesSaved.sum() + "]";
+    }
+}
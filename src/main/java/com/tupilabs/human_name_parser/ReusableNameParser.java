@@ -0,0 +1,495 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.nio.ByteBuffer;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+
+/**
+ * <p>A parser that can be reused for many names, for high-volume parsing.</p>
+ *
+ * <p>It applies the same regexes, in the same order, as {@code HumanNameParserParser},
+ * and produces the same parts. But instead of creating a builder, a {@code Name},
+ * a parser and new regexes for every name, it compiles the regexes once (see
+ * {@code NameGrammar}), reuses its buffers and {@code Matcher}s, and writes the
+ * parts into a caller-supplied {@code NameParts}. Once the buffers have grown to
+ * fit the longest name, parsing does not allocate, unless {@code String}s are
+ * requested from the {@code NameParts}.</p>
+ *
+ * <pre>
+ * ReusableNameParser parser = new ReusableNameParser();
+ * NameParts parts = new NameParts();
+ * for (String name : names) {
+ *     parser.parse(name, parts);
+ *     String last = parts.getLast();
+ * }
+ * </pre>
+ *
+ * <p>Names can also be parsed directly from a {@code char[]} range, or from a
+ * UTF-8 encoded {@code byte[]} range or {@code ByteBuffer}, e.g. fields of a larger
+ * record, without decoding them into a {@code String} first. ASCII input is
+ * copied as-is into the parser buffer.</p>
+ *
+ * <p>This class is not thread-safe. Use one instance per thread.</p>
+ *
+ * @since 0.4
+ */
+public final class ReusableNameParser {
+
+    /**
+     * How many grammars keep their {@code Matcher}s, when switching grammars
+     * between parses.
+     */
+    private static final int MAX_CACHED_GRAMMARS = 8;
+
+    private static final Set<NamePart> ALL_PARTS = EnumSet.allOf(NamePart.class);
+
+    /**
+     * The parts, in the order they are chopped off the name.
+     */
+    private static final NamePart[] STAGES = {
+        NamePart.NICKNAMES,
+        NamePart.POSTNOMINAL,
+        NamePart.SUFFIX,
+        NamePart.LAST,
+        NamePart.SALUTATION,
+        NamePart.LEADING_INIT,
+        NamePart.FIRST,
+        NamePart.MIDDLE
+    };
+
+    private final NameBuffer buffer;
+    private final GrammarMatchers[] cachedMatchers;
+    private int nextCachedMatchers;
+    private GrammarMatchers matchers;
+    private NameKeys keys;
+    private boolean normalizeCase;
+
+    /**
+     * Create a parser with the default grammar.
+     */
+    public ReusableNameParser() {
+        this(NameGrammar.defaultGrammar());
+    }
+
+    /**
+     * Create a parser.
+     * @param grammar the grammar
+     */
+    public ReusableNameParser(NameGrammar grammar) {
+        Objects.requireNonNull(grammar);
+        this.buffer = new NameBuffer();
+        this.cachedMatchers = new GrammarMatchers[MAX_CACHED_GRAMMARS];
+        setGrammar(grammar);
+    }
+
+    public NameGrammar getGrammar() {
+        return matchers.grammar;
+    }
+
+    /**
+     * Sets the grammar used by the next parses, e.g. to parse a batch of names,
+     * or a single name, of another locale. The {@code Matcher}s of the last few
+     * grammars are kept, so switching between them does not allocate.
+     *
+     * @param grammar the grammar
+     * @return this parser
+     * @see GrammarPacks
+     */
+    public ReusableNameParser setGrammar(NameGrammar grammar) {
+        Objects.requireNonNull(grammar);
+        if (matchers != null && matchers.grammar == grammar) {
+            return this;
+        }
+        for (GrammarMatchers cached : cachedMatchers) {
+            if (cached != null && cached.grammar == grammar) {
+                matchers = cached;
+                return this;
+            }
+        }
+        matchers = new GrammarMatchers(grammar, buffer);
+        cachedMatchers[nextCachedMatchers] = matchers;
+        nextCachedMatchers = (nextCachedMatchers + 1) % MAX_CACHED_GRAMMARS;
+        return this;
+    }
+
+    /**
+     * Sets the grammar used by the next parses to the grammar pack of a locale.
+     *
+     * @param locale the locale
+     * @return this parser
+     * @see GrammarPacks#grammarFor(Locale)
+     */
+    public ReusableNameParser setLocale(Locale locale) {
+        return setGrammar(GrammarPacks.grammarFor(locale));
+    }
+
+    /**
+     * Sets the keys computed from the first and last names of the next parses, e.g.
+     * for record linkage. The keys are written into the {@code NameParts} together
+     * with the parts, without creating {@code String}s. Keys of parts that are not
+     * extracted (see {@link #parse(Set, NameParts)}) are left empty.
+     *
+     * @param keys the keys, none by default
+     * @return this parser
+     */
+    public ReusableNameParser setKeys(Set<NameKey> keys) {
+        Objects.requireNonNull(keys);
+        this.keys = keys.isEmpty() ? null : new NameKeys(EnumSet.copyOf(keys));
+        return this;
+    }
+
+    /**
+     * Sets whether the next parses normalize the case of the parts, for names
+     * written in all caps or all lowercase, like "BJORN C. O'MALLEY-MUNOZ". Each
+     * part is normalized in place as it is chopped off the name, so this does
+     * not allocate either: words are capitalized, including after hyphens,
+     * apostrophes and "Mc"/"Mac" ("O'Malley-Munoz", "McDonald"), the prefixes
+     * of the grammar in the last name are lowercase ("van der Berg"), and its
+     * suffixes and postnominals have their canonical case ("III", "PhD"). Parts
+     * already written in mixed case are kept as is.
+     *
+     * @param normalizeCase whether to normalize the case, {@code false} by default
+     * @return this parser
+     */
+    public ReusableNameParser setNormalizeCase(boolean normalizeCase) {
+        this.normalizeCase = normalizeCase;
+        return this;
+    }
+
+    /**
+     * Loads the next name to be parsed.
+     * @param input the name
+     * @return this parser
+     */
+    public ReusableNameParser reset(CharSequence input) {
+        buffer.load(input);
+        return this;
+    }
+
+    /**
+     * Loads the next name to be parsed.
+     * @param input the chars holding the name
+     * @param offset the offset of the name
+     * @param length the length of the name
+     * @return this parser
+     */
+    public ReusableNameParser reset(char[] input, int offset, int length) {
+        checkRange(input.length, offset, length);
+        buffer.load(input, offset, length);
+        return this;
+    }
+
+    /**
+     * Loads the next name to be parsed.
+     * @param input the UTF-8 encoded bytes holding the name
+     * @param offset the offset of the name
+     * @param length the length of the name, in bytes
+     * @return this parser
+     */
+    public ReusableNameParser resetUtf8(byte[] input, int offset, int length) {
+        checkRange(input.length, offset, length);
+        buffer.loadUtf8(input, offset, length);
+        return this;
+    }
+
+    /**
+     * Loads the next name to be parsed, from the UTF-8 encoded bytes between the
+     * position and the limit of the buffer. The position of the buffer is not
+     * changed.
+     * @param input the UTF-8 encoded bytes holding the name
+     * @return this parser
+     */
+    public ReusableNameParser resetUtf8(ByteBuffer input) {
+        buffer.loadUtf8(input);
+        return this;
+    }
+
+    /**
+     * Loads and parses a name.
+     * @param input the chars holding the name
+     * @param offset the offset of the name
+     * @param length the length of the name
+     * @param result the holder for the parts of the name
+     * @throws ParseException if the parser fails to retrieve the name parts
+     */
+    public void parse(char[] input, int offset, int length, NameParts result) throws ParseException {
+        reset(input, offset, length);
+        parse(result);
+    }
+
+    /**
+     * Loads and parses a name.
+     * @param input the UTF-8 encoded bytes holding the name
+     * @param offset the offset of the name
+     * @param length the length of the name, in bytes
+     * @param result the holder for the parts of the name
+     * @throws ParseException if the parser fails to retrieve the name parts
+     */
+    public void parseUtf8(byte[] input, int offset, int length, NameParts result) throws ParseException {
+        resetUtf8(input, offset, length);
+        parse(result);
+    }
+
+    /**
+     * Loads and parses a name, from the UTF-8 encoded bytes between the position
+     * and the limit of the buffer. The position of the buffer is not changed.
+     * @param input the UTF-8 encoded bytes holding the name
+     * @param result the holder for the parts of the name
+     * @throws ParseException if the parser fails to retrieve the name parts
+     */
+    public void parseUtf8(ByteBuffer input, NameParts result) throws ParseException {
+        resetUtf8(input);
+        parse(result);
+    }
+
+    /**
+     * Loads and parses a name.
+     * @param input the name
+     * @param result the holder for the parts of the name
+     * @throws ParseException if the parser fails to retrieve the name parts
+     */
+    public void parse(CharSequence input, NameParts result) throws ParseException {
+        reset(input);
+        parse(result);
+    }
+
+    /**
+     * Loads and parses a name, extracting only some of its parts.
+     * @param input the name
+     * @param parts the parts to extract
+     * @param result the holder for the parts of the name
+     * @throws ParseException if the parser fails to retrieve the name parts
+     * @see #parse(Set, NameParts)
+     */
+    public void parse(CharSequence input, Set<NamePart> parts, NameParts result) throws ParseException {
+        reset(input);
+        parse(parts, result);
+    }
+
+    /**
+     * Consumes the name loaded with {@link #reset(CharSequence)} and writes its parts.
+     * @param result the holder for the parts of the name
+     * @throws ParseException if the parser fails to retrieve the name parts
+     */
+    public void parse(NameParts result) throws ParseException {
+        parse(ALL_PARTS, result);
+    }
+
+    /**
+     * <p>Consumes the name loaded with {@link #reset(CharSequence)} and writes only
+     * the requested parts. The other parts are left empty.</p>
+     *
+     * <p>Each part is found in the name left after the previous parts were chopped
+     * off, so the stages before the last requested part still run, but the stages
+     * after it are skipped. For instance, parsing only the {@code LAST} name skips
+     * the salutation, leading initial, first and middle names. The requested parts
+     * are the same as the ones of a full parse. But a projected parse does not check
+     * the parts of the skipped stages, so it can succeed for a name that a full parse
+     * would reject, e.g. for not having a first name.</p>
+     *
+     * @param parts the parts to extract
+     * @param result the holder for the parts of the name
+     * @throws ParseException if the parser fails to retrieve the name parts
+     */
+    public void parse(Set<NamePart> parts, NameParts result) throws ParseException {
+        parseParts(parts, result);
+        if (keys != null) {
+            keys.compute(result);
+        }
+    }
+
+    private void parseParts(Set<NamePart> parts, NameParts result) throws ParseException {
+        final GrammarMatchers m = this.matchers;
+        final int stages = lastStage(parts);
+        result.clear();
+        if (stages < 1) {
+            return;
+        }
+
+        // get nickname, if there is one
+        chop(m.nicknames, 2, result, NamePart.NICKNAMES, parts);
+        if (stages < 2) {
+            return;
+        }
+
+        // get postnominal, if there is one
+        chop(m.postnominal, 1, result, NamePart.POSTNOMINAL, parts);
+        if (stages < 3) {
+            return;
+        }
+
+        // get suffix, if there is one
+        chop(m.suffix, 1, result, NamePart.SUFFIX, parts);
+        if (stages < 4) {
+            return;
+        }
+
+        // flip the before-comma and after-comma parts of the name
+        buffer.flipAroundComma();
+
+        // get the last name
+        if (!chop(m.last, 0, result, NamePart.LAST, parts)) {
+            throw new ParseException(FailureReason.NO_LAST_NAME,
+                    "Couldn't find a last name in '{" + buffer + "}'.");
+        }
+        if (stages < 5) {
+            return;
+        }
+
+        // get salutation, if there is one
+        chop(m.salutation, 1, result, NamePart.SALUTATION, parts);
+        if (stages < 6) {
+            return;
+        }
+
+        // get the first initial, if there is one
+        chop(m.leadingInit, 1, result, NamePart.LEADING_INIT, parts);
+        if (stages < 7) {
+            return;
+        }
+
+        // get the first name
+        if (!chop(m.first, 0, result, NamePart.FIRST, parts)) {
+            throw new ParseException(FailureReason.NO_FIRST_NAME,
+                    "Couldn't find a first name in '{" + buffer + "}'");
+        }
+        if (stages < 8) {
+            return;
+        }
+
+        // if anything's left, that's the middle name
+        set(result, NamePart.MIDDLE, 0, buffer.length);
+    }
+
+    /**
+     * Same as {@link Name#chopWithPattern(java.util.regex.Pattern, int)}, but
+     * the chopped part is written into the result, if it was requested.
+     *
+     * @return {@code false} if the chopped part is blank
+     */
+    private boolean chop(Matcher matcher, int submatchIndex, NameParts result, NamePart part, Set<NamePart> parts) {
+        matcher.reset();
+        if (!matcher.find() || matcher.groupCount() <= submatchIndex) {
+            return false;
+        }
+        final int start = matcher.start();
+        final int end = matcher.end();
+        int partStart = matcher.start(submatchIndex);
+        int partEnd = matcher.end(submatchIndex);
+        if (partStart < 0) {
+            // the submatch did not participate in the match
+            partStart = start;
+            partEnd = start;
+        }
+        if (matcher.find()) {
+            throw new ParseException(FailureReason.MULTIPLE_MATCHES,
+                    "The regex being used to find the name has multiple matches.");
+        }
+        // trimmed, as String#trim
+        while (partStart < partEnd && buffer.chars[partStart] <= ' ') {
+            partStart++;
+        }
+        while (partEnd > partStart && buffer.chars[partEnd - 1] <= ' ') {
+            partEnd--;
+        }
+        final boolean blank = isBlank(buffer.chars, partStart, partEnd);
+        if (parts.contains(part)) {
+            set(result, part, partStart, partEnd);
+        }
+        buffer.replaceWithSpace(start, end);
+        buffer.norm();
+        return !blank;
+    }
+
+    /**
+     * Writes a part of the buffer into the result, normalizing its case if needed.
+     */
+    private void set(NameParts result, NamePart part, int start, int end) {
+        result.set(part, buffer.chars, start, end);
+        if (normalizeCase) {
+            final int partStart = result.start(part);
+            matchers.grammar.caseNormalizer.normalize(part, result.buffer(), partStart, partStart + end - start);
+        }
+    }
+
+    /**
+     * Gets the number of stages needed to extract the parts.
+     */
+    static int lastStage(Set<NamePart> parts) {
+        int stages = 0;
+        for (int i = 0; i < STAGES.length; i++) {
+            if (parts.contains(STAGES[i])) {
+                stages = i + 1;
+            }
+        }
+        return stages;
+    }
+
+    private static void checkRange(int arrayLength, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length
+                    + ", array length " + arrayLength);
+        }
+    }
+
+    private static boolean isBlank(char[] chars, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(chars[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The {@code Matcher}s of a grammar, over the parser buffer.
+     */
+    private static final class GrammarMatchers {
+
+        private final NameGrammar grammar;
+        private final Matcher nicknames;
+        private final Matcher postnominal;
+        private final Matcher suffix;
+        private final Matcher last;
+        private final Matcher salutation;
+        private final Matcher leadingInit;
+        private final Matcher first;
+
+        GrammarMatchers(NameGrammar grammar, NameBuffer buffer) {
+            this.grammar = grammar;
+            this.nicknames = grammar.nicknames.matcher(buffer);
+            this.postnominal = grammar.postnominal.matcher(buffer);
+            this.suffix = grammar.suffix.matcher(buffer);
+            this.last = grammar.last.matcher(buffer);
+            this.salutation = grammar.salutation.matcher(buffer);
+            this.leadingInit = grammar.leadingInit.matcher(buffer);
+            this.first = grammar.first.matcher(buffer);
+        }
+    }
+}
@@ -0,0 +1,392 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * <p>A thread-safe parser to share across an application, with a cache of the
+ * parsed names and statistics that can be watched and tuned over JMX.</p>
+ *
+ * <pre>
+ * SharedNameParser parser = new SharedNameParser().withCacheCapacity(100_000);
+ * parser.register("customers");
+ * ...
+ * parser.parse(name, parts);
+ * </pre>
+ *
+ * <p>Each thread parses with its own {@code ReusableNameParser}. The cache is an
+ * LRU cache split into stripes with their own lock, and it also remembers the
+ * names that cannot be parsed. The counters are {@code LongAdder}s, so threads
+ * parsing at the same time do not contend on them, and timing each parse can
+ * be turned off.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @since 0.4
+ */
+public final class SharedNameParser implements SharedNameParserMXBean {
+
+    private static final FailureReason[] REASONS = FailureReason.values();
+    private static final int STRIPES = 16;
+
+    private final ThreadLocal<ReusableNameParser> parsers;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    // the stripes in use are the first stripeMask + 1, fewer than STRIPES for small caches
+    private volatile int stripeMask = STRIPES - 1;
+    private volatile int cacheCapacity;
+    private volatile boolean instrumentationEnabled = true;
+
+    private final LongAdder parses = new LongAdder();
+    private final LongAdder[] failures = new LongAdder[REASONS.length];
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private volatile long statisticsStart = System.nanoTime();
+
+    private ObjectName objectName;
+
+    /**
+     * A name that could not be parsed, in the cache.
+     */
+    private static final class CachedFailure {
+        final FailureReason reason;
+        final String message;
+
+        CachedFailure(ParseException e) {
+            this.reason = e.getReason();
+            this.message = e.getMessage();
+        }
+    }
+
+    /**
+     * A part of the cache, in least recently used order.
+     */
+    private static final class Stripe extends LinkedHashMap<String, Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        private int capacity;
+
+        Stripe() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+            return size() > capacity;
+        }
+
+        void resize(int newCapacity) {
+            capacity = newCapacity;
+            final Iterator<String> eldest = keySet().iterator();
+            while (size() > capacity) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Create a shared parser with the default grammar and no cache.
+     */
+    public SharedNameParser() {
+        this(NameGrammar.defaultGrammar());
+    }
+
+    /**
+     * Create a shared parser with no cache.
+     * @param grammar the grammar
+     */
+    public SharedNameParser(NameGrammar grammar) {
+        Objects.requireNonNull(grammar);
+        this.parsers = ThreadLocal.withInitial(() -> new ReusableNameParser(grammar));
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        for (int i = 0; i < REASONS.length; i++) {
+            failures[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Sets the maximum number of names in the cache.
+     * @param capacity the capacity, {@code 0} to disable the cache
+     * @return this parser
+     */
+    public SharedNameParser withCacheCapacity(int capacity) {
+        setCacheCapacity(capacity);
+        return this;
+    }
+
+    /**
+     * Parses a name.
+     * @param name the name
+     * @param result the holder for the parts of the name
+     * @throws ParseException if the parser fails to retrieve the name parts
+     */
+    public void parse(String name, NameParts result) throws ParseException {
+        Objects.requireNonNull(name);
+        final boolean timed = instrumentationEnabled;
+        final long start = timed ? System.nanoTime() : 0L;
+        try {
+            parseCached(name, result);
+        } catch (ParseException e) {
+            failures[e.getReason().ordinal()].increment();
+            throw e;
+        } finally {
+            parses.increment();
+            if (timed) {
+                latencies.record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void parseCached(String name, NameParts result) {
+        if (cacheCapacity == 0) {
+            parsers.get().parse(name, result);
+            return;
+        }
+        final int mask = stripeMask;
+        final Stripe stripe = stripe(name, mask);
+        final Object cached;
+        synchronized (stripe) {
+            cached = stripe.get(name);
+        }
+        if (cached != null) {
+            cacheHits.increment();
+            if (cached instanceof CachedFailure) {
+                final CachedFailure failure = (CachedFailure) cached;
+                throw new ParseException(failure.reason, failure.message);
+            }
+            // the cached parts are never modified, so they can be read outside the lock
+            ((NameParts) cached).copyTo(result);
+            return;
+        }
+        cacheMisses.increment();
+        Object value;
+        try {
+            parsers.get().parse(name, result);
+            value = result.copy();
+        } catch (ParseException e) {
+            value = new CachedFailure(e);
+            put(stripe, mask, name, value);
+            throw e;
+        }
+        put(stripe, mask, name, value);
+    }
+
+    private void put(Stripe stripe, int mask, String name, Object value) {
+        synchronized (stripe) {
+            // the cache was restriped since the stripe was picked, the name belongs elsewhere
+            if (mask == stripeMask) {
+                stripe.put(name, value);
+            }
+        }
+    }
+
+    private Stripe stripe(String name, int mask) {
+        final int h = name.hashCode();
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+
+    /**
+     * Registers this parser in the platform MBean server, as
+     * {@code com.tupilabs.human_name_parser:type=SharedNameParser,name=<name>}.
+     * @param name the name of this parser
+     * @return the object name
+     * @throws JMException if the name is not valid, or already registered
+     */
+    public synchronized ObjectName register(String name) throws JMException {
+        if (objectName != null) {
+            throw new IllegalStateException("Already registered as " + objectName);
+        }
+        final ObjectName newName = new ObjectName(getClass().getPackage().getName()
+                + ":type=SharedNameParser,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, newName);
+        objectName = newName;
+        return newName;
+    }
+
+    /**
+     * Unregisters this parser from the platform MBean server, if it was registered.
+     * @throws JMException if the parser cannot be unregistered
+     */
+    public synchronized void unregister() throws JMException {
+        if (objectName != null) {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            objectName = null;
+        }
+    }
+
+    @Override
+    public long getParseCount() {
+        return parses.sum();
+    }
+
+    @Override
+    public double getParsesPerSecond() {
+        final long elapsed = System.nanoTime() - statisticsStart;
+        return elapsed <= 0 ? 0 : parses.sum() * 1e9 / elapsed;
+    }
+
+    @Override
+    public long getFailureCount() {
+        long total = 0;
+        for (LongAdder failure : failures) {
+            total += failure.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public Map<String, Long> getFailureCounts() {
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        for (FailureReason reason : REASONS) {
+            counts.put(reason.name(), failures[reason.ordinal()].sum());
+        }
+        return counts;
+    }
+
+    /**
+     * Gets the number of names that could not be parsed for a reason.
+     * @param reason the reason
+     * @return the number of failures
+     */
+    public long getFailureCount(FailureReason reason) {
+        return failures[reason.ordinal()].sum();
+    }
+
+    @Override
+    public long getLatencyP50Nanos() {
+        return latencies.percentile(50);
+    }
+
+    @Override
+    public long getLatencyP99Nanos() {
+        return latencies.percentile(99);
+    }
+
+    @Override
+    public long getLatencyP999Nanos() {
+        return latencies.percentile(99.9);
+    }
+
+    @Override
+    public long latencyPercentileNanos(double percentile) {
+        return latencies.percentile(percentile);
+    }
+
+    @Override
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    @Override
+    public double getCacheHitRate() {
+        final long hits = cacheHits.sum();
+        final long lookups = hits + cacheMisses.sum();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public int getCacheSize() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public int getCacheCapacity() {
+        return cacheCapacity;
+    }
+
+    @Override
+    public synchronized void setCacheCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Invalid cache capacity: " + capacity);
+        }
+        // a small cache uses fewer stripes, so that each one holds at least a name
+        final int used = capacity == 0 ? STRIPES : Math.min(STRIPES, Integer.highestOneBit(capacity));
+        final boolean restripe = used != stripeMask + 1;
+        // the stripes in use share the capacity, the first ones get the remainder.
+        // The unused stripes are sized 0 before the mask is published, so a put
+        // picking a stripe with the old mask cannot leave a name in them
+        for (int i = 0; i < STRIPES; i++) {
+            final Stripe stripe = stripes[i];
+            synchronized (stripe) {
+                if (restripe) {
+                    // the names now map to other stripes
+                    stripe.clear();
+                }
+                stripe.resize(i >= used ? 0 : capacity / used + (i < capacity % used ? 1 : 0));
+            }
+        }
+        this.stripeMask = used - 1;
+        this.cacheCapacity = capacity;
+    }
+
+    @Override
+    public boolean isInstrumentationEnabled() {
+        return instrumentationEnabled;
+    }
+
+    @Override
+    public void setInstrumentationEnabled(boolean enabled) {
+        this.instrumentationEnabled = enabled;
+    }
+
+    @Override
+    public void resetStatistics() {
+        parses.reset();
+        for (LongAdder failure : failures) {
+            failure.reset();
+        }
+        cacheHits.reset();
+        cacheMisses.reset();
+        latencies.reset();
+        statisticsStart = System.nanoTime();
+    }
+}
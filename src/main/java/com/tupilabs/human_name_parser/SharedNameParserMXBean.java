@@ -0,0 +1,126 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.util.Map;
+
+/**
+ * The JMX management interface of a {@code SharedNameParser}, to watch its
+ * statistics and tune it at runtime.
+ *
+ * @since 0.4
+ * @see SharedNameParser#register(String)
+ */
+public interface SharedNameParserMXBean {
+
+    /**
+     * Gets the number of names parsed, including the failed ones and the ones
+     * found in the cache, since the statistics were reset.
+     * @return the number of names
+     */
+    long getParseCount();
+
+    /**
+     * Gets the average number of names parsed per second since the statistics
+     * were reset.
+     * @return the throughput
+     */
+    double getParsesPerSecond();
+
+    /**
+     * Gets the number of names that could not be parsed.
+     * @return the number of failures
+     */
+    long getFailureCount();
+
+    /**
+     * Gets the number of names that could not be parsed, by {@code FailureReason}.
+     * @return the number of failures of each reason
+     */
+    Map<String, Long> getFailureCounts();
+
+    /**
+     * Gets the median parse latency, when instrumentation is enabled.
+     * @return the latency in nanoseconds
+     */
+    long getLatencyP50Nanos();
+
+    /**
+     * Gets the 99th percentile of the parse latency, when instrumentation is enabled.
+     * @return the latency in nanoseconds
+     */
+    long getLatencyP99Nanos();
+
+    /**
+     * Gets the 99.9th percentile of the parse latency, when instrumentation is enabled.
+     * @return the latency in nanoseconds
+     */
+    long getLatencyP999Nanos();
+
+    /**
+     * Gets a percentile of the parse latency, when instrumentation is enabled.
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency in nanoseconds
+     */
+    long latencyPercentileNanos(double percentile);
+
+    long getCacheHits();
+
+    long getCacheMisses();
+
+    /**
+     * Gets the share of the parses answered by the cache.
+     * @return the hit rate, between 0 and 1
+     */
+    double getCacheHitRate();
+
+    /**
+     * Gets the number of names in the cache.
+     * @return the number of names
+     */
+    int getCacheSize();
+
+    int getCacheCapacity();
+
+    /**
+     * Sets the maximum number of names in the cache, evicting the least recently
+     * used ones if needed.
+     * @param capacity the capacity, {@code 0} to disable the cache
+     */
+    void setCacheCapacity(int capacity);
+
+    boolean isInstrumentationEnabled();
+
+    /**
+     * Enables or disables the timing of each parse. The counters are always
+     * updated.
+     * @param enabled {@code true} to time the parses
+     */
+    void setInstrumentationEnabled(boolean enabled);
+
+    /**
+     * Resets the counters and latencies. The cache is kept.
+     */
+    void resetStatistics();
+}
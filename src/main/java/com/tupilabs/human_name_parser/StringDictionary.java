@@ -0,0 +1,226 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.util.Arrays;
+
+/**
+ * <p>A dictionary giving a dense {@code int} id to each distinct string added to
+ * it. The chars of all the strings are kept in a single {@code char[]}, and the
+ * lookup uses an open-addressing hash table of {@code int}s, so there is no object
+ * per string, and looking up a string given as chars does not allocate.</p>
+ *
+ * <p>This class is not thread-safe for additions. Lookups can run concurrently
+ * once no more strings are added.</p>
+ *
+ * @since 0.4
+ */
+final class StringDictionary {
+
+    private char[] chars;
+    private int charsSize;
+    /** The start of the chars of each id, and the end of the last one. */
+    private int[] offsets;
+    private int size;
+    /** The hash table, holding {@code id + 1} (0 for free slots). */
+    private int[] slots;
+    private int[] hashes;
+
+    StringDictionary() {
+        this.chars = new char[1024];
+        this.offsets = new int[129];
+        this.slots = new int[256];
+        this.hashes = new int[128];
+    }
+
+    /**
+     * Gets the id of a string, adding it if needed.
+     * @param src the chars of the string
+     * @param start the start index, inclusive
+     * @param end the end index, exclusive
+     * @return the id
+     */
+    int add(char[] src, int start, int end) {
+        final int hash = hash(src, start, end);
+        final int mask = slots.length - 1;
+        int slot = hash & mask;
+        int id;
+        while ((id = slots[slot] - 1) >= 0) {
+            if (hashes[id] == hash && equals(id, src, start, end)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        id = size++;
+        final int length = end - start;
+        if (charsSize + length > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(charsSize + length, Math.max(16, chars.length * 2)));
+        }
+        System.arraycopy(src, start, chars, charsSize, length);
+        charsSize += length;
+        if (size >= offsets.length) {
+            offsets = Arrays.copyOf(offsets, Math.max(16, offsets.length * 2));
+        }
+        if (id >= hashes.length) {
+            hashes = Arrays.copyOf(hashes, Math.max(16, hashes.length * 2));
+        }
+        offsets[size] = charsSize;
+        hashes[id] = hash;
+        slots[slot] = id + 1;
+        // keep the load factor under 0.5
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    /**
+     * Gets the id of a string of another dictionary, adding it if needed.
+     * @param other the other dictionary
+     * @param otherId the id of the string in the other dictionary
+     * @return the id in this dictionary
+     */
+    int add(StringDictionary other, int otherId) {
+        return add(other.chars, other.offsets[otherId], other.offsets[otherId + 1]);
+    }
+
+    /**
+     * Gets the id of a string.
+     * @param src the chars of the string
+     * @param start the start index, inclusive
+     * @param end the end index, exclusive
+     * @return the id, or {@code -1} if the string is not in the dictionary
+     */
+    int find(char[] src, int start, int end) {
+        final int hash = hash(src, start, end);
+        final int mask = slots.length - 1;
+        int slot = hash & mask;
+        int id;
+        while ((id = slots[slot] - 1) >= 0) {
+            if (hashes[id] == hash && equals(id, src, start, end)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the length of a string.
+     * @param id the id of the string
+     * @return the length
+     */
+    int length(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * Gets a char of a string.
+     * @param id the id of the string
+     * @param index the index of the char
+     * @return the char
+     */
+    char charAt(int id, int index) {
+        return chars[offsets[id] + index];
+    }
+
+    /**
+     * Appends a string to a {@code StringBuilder}.
+     * @param id the id of the string
+     * @param sb the {@code StringBuilder}
+     * @return the {@code StringBuilder}
+     */
+    StringBuilder appendTo(int id, StringBuilder sb) {
+        return sb.append(chars, offsets[id], length(id));
+    }
+
+    /**
+     * Creates a {@code String} for an id.
+     * @param id the id of the string
+     * @return the string
+     */
+    String get(int id) {
+        return new String(chars, offsets[id], length(id));
+    }
+
+    /**
+     * Gets the number of strings.
+     * @return the number of strings
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the approximate number of bytes used by the dictionary.
+     * @return the number of bytes
+     */
+    long estimatedBytes() {
+        return 2L * chars.length + 4L * (offsets.length + slots.length + hashes.length);
+    }
+
+    /**
+     * Shrinks the arrays to the current size, once no more strings will be added.
+     */
+    void trimToSize() {
+        chars = Arrays.copyOf(chars, charsSize);
+        offsets = Arrays.copyOf(offsets, size + 1);
+        hashes = Arrays.copyOf(hashes, size);
+    }
+
+    private boolean equals(int id, char[] src, int start, int end) {
+        final int offset = offsets[id];
+        if (offsets[id + 1] - offset != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (chars[offset + i - start] != src[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+        final int[] newSlots = new int[slots.length * 2];
+        final int mask = newSlots.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hashes[id] & mask;
+            while (newSlots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newSlots[slot] = id + 1;
+        }
+        slots = newSlots;
+    }
+
+    private static int hash(char[] src, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + src[i];
+        }
+        // spread the bits, as the table uses the low bits
+        return h ^ (h >>> 16);
+    }
+}
@@ -26,6 +26,8 @@ package com.tupilabs.human_name_parser;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -149,6 +151,39 @@ public class BuilderTest {
         assertTrue(parser.getLast().contains("phidd"));
     }
 
+    // parts
+
+    @Test
+    public void testWithParts() {
+        HumanNameParserParser parser = new HumanNameParserBuilder("Dr. Bjorn C. O'Malley, Jr.")
+                .withParts(EnumSet.of(NamePart.LAST, NamePart.SUFFIX))
+                .build();
+        assertEquals("O'Malley", parser.getLast());
+        assertEquals("Jr.", parser.getSuffix());
+        assertEquals("", parser.getSalutation());
+        assertEquals("", parser.getFirst());
+        assertEquals("", parser.getMiddle());
+    }
+
+    @Test
+    public void testBuildAllWithParts() {
+        List<HumanNameParserParser> parsers = new HumanNameParserBuilder("John and Jane Smith")
+                .withParts(EnumSet.of(NamePart.FIRST))
+                .buildAll();
+        assertEquals(2, parsers.size());
+        assertEquals("John", parsers.get(0).getFirst());
+        assertEquals("", parsers.get(0).getLast());
+        assertEquals("Jane", parsers.get(1).getFirst());
+
+        // the shared last name is kept when requested
+        parsers = new HumanNameParserBuilder("John and Jane Smith")
+                .withParts(EnumSet.of(NamePart.LAST))
+                .buildAll();
+        assertEquals("Smith", parsers.get(0).getLast());
+        assertEquals("", parsers.get(0).getFirst());
+        assertEquals("Smith", parsers.get(1).getLast());
+    }
+
     // validations
 
     @Test
@@ -0,0 +1,120 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures the throughput of {@code BulkNameParser} for an increasing number of
+ * worker threads, and the cost of checkpoints. Run with
+ * {@code mvn test -Pbenchmark}, and {@code -Dbenchmark.names=20000000} for
+ * another number of names (the default is 2,000,000).
+ *
+ * @since 0.4
+ */
+public class BulkNameParserBenchmark {
+
+    private static final Logger LOGGER = Logger.getLogger(BulkNameParserBenchmark.class.getName());
+
+    private static final int NAMES = Integer.getInteger("benchmark.names", 2_000_000);
+
+    @TempDir
+    Path dir;
+
+    private Path writeInput() throws IOException {
+        final Path input = dir.resolve("names.txt");
+        final NameCorpusGenerator generator = new NameCorpusGenerator(42);
+        try (Writer writer = Files.newBufferedWriter(input, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < NAMES; i++) {
+                writer.append(generator.next()[0]).append('\n');
+            }
+        }
+        return input;
+    }
+
+    @Test
+    public void testThroughputPerThreads() throws IOException {
+        final Path input = writeInput();
+        final Path output = dir.resolve("parsed.txt");
+        final double megabytes = Files.size(input) / (1024.0 * 1024.0);
+
+        BulkCheckpoint first = null;
+        final int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= processors; threads *= 2) {
+            final BulkNameParser parser = new BulkNameParser().withParallelism(threads);
+            // warm up
+            parser.parse(input, output);
+            final long start = System.nanoTime();
+            final BulkCheckpoint done = parser.parse(input, output);
+            final long nanos = System.nanoTime() - start;
+            LOGGER.info(String.format("%d threads: %,d names in %,d ms, %.1f MB/s",
+                    threads, NAMES, nanos / 1_000_000, megabytes / (nanos / 1e9)));
+            if (first == null) {
+                first = done;
+            }
+            assertEquals(first.toString(), done.toString());
+        }
+    }
+
+    @Test
+    public void testCheckpointOverhead() throws IOException {
+        final Path input = writeInput();
+        final Path output = dir.resolve("parsed.txt");
+        final Path checkpoint = dir.resolve("parsed.checkpoint");
+
+        final long[] intervals = {0, 1_000_000, 10_000};
+        BulkCheckpoint first = null;
+        for (long interval : intervals) {
+            final BulkNameParser parser = new BulkNameParser();
+            if (interval > 0) {
+                parser.withCheckpointFile(checkpoint).withCheckpointInterval(interval);
+            }
+            // warm up
+            parser.parse(input, output);
+            Files.deleteIfExists(checkpoint);
+            final long start = System.nanoTime();
+            final BulkCheckpoint done = parser.parse(input, output);
+            final long nanos = System.nanoTime() - start;
+            Files.deleteIfExists(checkpoint);
+            LOGGER.info(String.format("%s: %,d names in %,d ms",
+                    interval == 0 ? "no checkpoints" : String.format("checkpoint every %,d rows", interval),
+                    NAMES, nanos / 1_000_000));
+            if (first == null) {
+                first = done;
+            }
+            assertEquals(first.getRows(), done.getRows());
+            assertEquals(first.getOutputOffset(), done.getOutputOffset());
+        }
+    }
+}
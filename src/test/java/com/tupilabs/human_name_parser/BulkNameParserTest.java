@@ -0,0 +1,483 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@code BulkNameParser}.
+ *
+ * @since 0.4
+ */
+public class BulkNameParserTest {
+
+    private static final NamePart[] COLUMNS = {
+        NamePart.LEADING_INIT,
+        NamePart.FIRST,
+        NamePart.NICKNAMES,
+        NamePart.MIDDLE,
+        NamePart.LAST,
+        NamePart.SUFFIX,
+        NamePart.SALUTATION,
+        NamePart.POSTNOMINAL
+    };
+
+    @TempDir
+    Path dir;
+
+    private Path input;
+    private Path output;
+    private Path checkpoint;
+    private Path quarantine;
+
+    @BeforeEach
+    public void setUp() {
+        input = dir.resolve("names.txt");
+        output = dir.resolve("parsed.txt");
+        checkpoint = dir.resolve("names.checkpoint");
+        quarantine = dir.resolve("rejected.txt");
+    }
+
+    private static String expected(List<String> names) {
+        final ReusableNameParser parser = new ReusableNameParser();
+        final NameParts parts = new NameParts();
+        final StringBuilder sb = new StringBuilder();
+        for (String name : names) {
+            try {
+                parser.parse(name, parts);
+            } catch (ParseException e) {
+                continue;
+            }
+            sb.append(name);
+            for (NamePart column : COLUMNS) {
+                parts.appendTo(column, sb.append('|'));
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private void writeInput(List<String> names, String separator) throws IOException {
+        Files.write(input, String.join(separator, names).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String readOutput() throws IOException {
+        return new String(Files.readAllBytes(output), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testParse() throws IOException {
+        final List<String> names = ReusableNameParserTest.testNames();
+        names.add("Bjorn");
+        names.add("Jos\u00e9 Mu\u00f1oz, PhD");
+        names.add("Bjorn \ud835\udd05 O'Malley");
+        final StringBuilder longName = new StringBuilder("Bjorn");
+        for (int i = 0; i < 30000; i++) {
+            longName.append(" A.");
+        }
+        names.add(longName.append(" O'Malley").toString());
+        writeInput(names, "\r\n");
+
+        final BulkCheckpoint done = new BulkNameParser().parse(input, output);
+
+        assertEquals(expected(names), readOutput());
+        assertEquals(names.size(), done.getRows());
+        assertEquals(1, done.getFailures());
+        assertEquals(Files.size(input), done.getInputOffset());
+        assertEquals(Files.size(output), done.getOutputOffset());
+    }
+
+    @Test
+    public void testBlankLines() throws IOException {
+        final List<String> names = new ArrayList<>();
+        names.add("");
+        names.add("Bjorn O'Malley");
+        names.add(" \t");
+        names.add("Linda Jones");
+        names.add("");
+        writeInput(names, "\n");
+
+        final BulkCheckpoint done = new BulkNameParser().parse(input, output);
+
+        assertEquals(expected(names), readOutput());
+        assertEquals(2, done.getRows());
+        assertEquals(0, done.getFailures());
+    }
+
+    @Test
+    public void testResumeAfterCrash() throws IOException {
+        final List<String> names = new ArrayList<>();
+        final List<String> testNames = ReusableNameParserTest.testNames();
+        for (int i = 0; i < 50; i++) {
+            names.addAll(testNames);
+            names.add("Bjorn");
+        }
+        writeInput(names, "\n");
+
+        final BulkNameParser crashing = new BulkNameParser()
+                .withCheckpointFile(checkpoint)
+                .withQuarantineFile(quarantine)
+                .withCheckpointInterval(100);
+        // the disk fills up half way through the output, in the middle of a write
+        final long limit = expected(names).getBytes(StandardCharsets.UTF_8).length / 2 + 7;
+        crashing.withChannels(file -> file.equals(output)
+                ? new FailingChannel(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE), limit)
+                : FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE));
+        assertThrows(IOException.class, () -> crashing.parse(input, output));
+        final BulkCheckpoint last = BulkCheckpoint.read(checkpoint);
+        assertTrue(last.getRows() > 0);
+        assertTrue(last.getRows() < names.size());
+        assertEquals(0, last.getRows() % 100);
+        assertEquals(limit, Files.size(output));
+        assertTrue(Files.size(output) > last.getOutputOffset());
+
+        final BulkNameParser resuming = new BulkNameParser()
+                .withCheckpointFile(checkpoint)
+                .withQuarantineFile(quarantine)
+                .withCheckpointInterval(100);
+        final BulkCheckpoint done = resuming.parse(input, output);
+
+        assertEquals(expected(names), readOutput());
+        assertEquals(names.size(), done.getRows());
+        assertEquals(50, done.getFailures());
+        assertEquals(50, done.getFailures(FailureReason.NO_LAST_NAME));
+        assertEquals(50, resuming.getFailureStats().getCount(FailureReason.NO_LAST_NAME));
+        final List<String> rejected = Files.readAllLines(quarantine, StandardCharsets.UTF_8);
+        assertEquals(50, rejected.size());
+        for (int i = 0; i < rejected.size(); i++) {
+            assertEquals((i + 1) * (testNames.size() + 1) + "|NO_LAST_NAME|Bjorn", rejected.get(i));
+        }
+        assertEquals(done.toString(), BulkCheckpoint.read(checkpoint).toString());
+
+        // a completed run is not repeated
+        final byte[] parsed = Files.readAllBytes(output);
+        final BulkCheckpoint again = new BulkNameParser()
+                .withCheckpointFile(checkpoint)
+                .parse(input, output);
+        assertArrayEquals(parsed, Files.readAllBytes(output));
+        assertEquals(done.toString(), again.toString());
+    }
+
+    @Test
+    public void testQuarantine() throws IOException {
+        final List<String> names = new ArrayList<>();
+        names.add("Bjorn O'Malley");
+        names.add("Bjorn");
+        names.add("");
+        names.add("Mr. Smith");
+        names.add("O'Malley, Bjorn, Jr, III");
+        names.add("Bjorn 'Bill' x 'Will' O'Malley");
+        names.add("Jos\u00e9");
+        writeInput(names, "\n");
+
+        final BulkNameParser bulk = new BulkNameParser().withQuarantineFile(quarantine);
+        final BulkCheckpoint done = bulk.parse(input, output);
+
+        assertEquals(expected(names), readOutput());
+        assertEquals(7, done.getLines());
+        assertEquals(6, done.getRows());
+        assertEquals(5, done.getFailures());
+        assertEquals(Files.size(quarantine), done.getQuarantineOffset());
+        final List<String> rejected = Files.readAllLines(quarantine, StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList(
+                "2|NO_LAST_NAME|Bjorn",
+                "4|NO_FIRST_NAME|Mr. Smith",
+                "5|MULTIPLE_COMMAS|O'Malley, Bjorn, Jr, III",
+                "6|MULTIPLE_MATCHES|Bjorn 'Bill' x 'Will' O'Malley",
+                "7|NO_LAST_NAME|Jos\u00e9"), rejected);
+
+        final FailureStats stats = bulk.getFailureStats();
+        assertEquals(5, stats.getTotal());
+        assertEquals(2, stats.getCount(FailureReason.NO_LAST_NAME));
+        assertEquals(0, stats.getCount(FailureReason.OTHER));
+        final List<FailureStats.Sample> samples = stats.getSamples(FailureReason.NO_LAST_NAME);
+        assertEquals(2, samples.size());
+        assertEquals(7, samples.get(1).getRow());
+        assertEquals("Jos\u00e9", samples.get(1).getInput());
+    }
+
+    @Test
+    public void testCheckpointPastEndOfOutput() throws IOException {
+        writeInput(ReusableNameParserTest.testNames(), "\n");
+        new BulkCheckpoint(10, 10, 0, 1, 1, new long[FailureReason.values().length]).write(checkpoint);
+        assertThrows(IOException.class, () -> new BulkNameParser()
+                .withCheckpointFile(checkpoint)
+                .parse(input, output));
+    }
+
+    private List<String> corpus() throws IOException {
+        final List<String> names = new ArrayList<>();
+        final NameCorpusGenerator generator = new NameCorpusGenerator(42);
+        for (int i = 0; i < 20_000; i++) {
+            names.add(generator.next()[0]);
+            if (i % 1000 == 0) {
+                names.add("Bjorn");
+                names.add(" ");
+            }
+        }
+        names.add("Mr. Smith");
+        return names;
+    }
+
+    @Test
+    public void testParallelSameAsSequential() throws IOException {
+        final List<String> names = corpus();
+        writeInput(names, "\r\n");
+        final BulkNameParser sequential = new BulkNameParser().withQuarantineFile(quarantine);
+        final BulkCheckpoint expected = sequential.parse(input, output);
+        final byte[] expectedOutput = Files.readAllBytes(output);
+        final byte[] expectedQuarantine = Files.readAllBytes(quarantine);
+
+        final BulkNameParser parallel = new BulkNameParser().withQuarantineFile(quarantine).withParallelism(4);
+        final BulkCheckpoint done = parallel.parse(input, output);
+
+        assertEquals(expected.toString(), done.toString());
+        assertArrayEquals(expectedOutput, Files.readAllBytes(output));
+        assertArrayEquals(expectedQuarantine, Files.readAllBytes(quarantine));
+        assertEquals(expected(names), readOutput());
+        assertEquals(sequential.getFailureStats().toString(), parallel.getFailureStats().toString());
+        // the samples have their line numbers in the whole input
+        for (FailureStats.Sample sample : parallel.getFailureStats().getSamples(FailureReason.NO_LAST_NAME)) {
+            assertEquals(sample.getInput(), names.get((int) sample.getRow() - 1));
+        }
+        // no part files are left
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(Arrays.asList("names.txt", "parsed.txt", "rejected.txt"),
+                    files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testParallelSmallInputs() throws IOException {
+        for (String content : Arrays.asList("", "\n", "Bjorn O'Malley", "Bjorn O'Malley\n\nLinda Jones",
+                "Bjorn O'Malley\nLinda Jones\n")) {
+            Files.write(input, content.getBytes(StandardCharsets.UTF_8));
+            final BulkCheckpoint expected = new BulkNameParser().parse(input, output);
+            final byte[] expectedOutput = Files.readAllBytes(output);
+            final BulkCheckpoint done = new BulkNameParser().withParallelism(8).parse(input, output);
+            assertEquals(expected.toString(), done.toString());
+            assertArrayEquals(expectedOutput, Files.readAllBytes(output));
+        }
+    }
+
+    @Test
+    public void testParseSharded() throws IOException {
+        final List<String> names = corpus();
+        writeInput(names, "\n");
+        final BulkCheckpoint expected = new BulkNameParser().parse(input, output);
+        final Path shards = dir.resolve("shards");
+
+        final BulkCheckpoint done = new BulkNameParser().withParallelism(3).parseSharded(input, shards);
+
+        assertEquals(expected.toString(), done.toString());
+        final Properties manifest = new Properties();
+        try (InputStream in = Files.newInputStream(shards.resolve(BulkNameParser.MANIFEST))) {
+            manifest.load(in);
+        }
+        final int parts = Integer.parseInt(manifest.getProperty("parts"));
+        assertEquals(12, parts);
+        final ByteArrayOutputStream concatenated = new ByteArrayOutputStream();
+        long firstLine = 1;
+        long inputOffset = 0;
+        for (int i = 0; i < parts; i++) {
+            concatenated.write(Files.readAllBytes(shards.resolve(manifest.getProperty("part." + i + ".file"))));
+            assertEquals(firstLine, Long.parseLong(manifest.getProperty("part." + i + ".firstLine")));
+            assertEquals(inputOffset, Long.parseLong(manifest.getProperty("part." + i + ".inputOffset")));
+            firstLine += Long.parseLong(manifest.getProperty("part." + i + ".lines"));
+            inputOffset = Long.parseLong(manifest.getProperty("part." + i + ".inputEnd"));
+        }
+        assertEquals(Files.size(input), inputOffset);
+        assertEquals(expected.getLines(), Long.parseLong(manifest.getProperty("lines")));
+        assertEquals(expected.getFailures(FailureReason.NO_LAST_NAME),
+                Long.parseLong(manifest.getProperty("failures.NO_LAST_NAME")));
+        assertArrayEquals(Files.readAllBytes(output), concatenated.toByteArray());
+    }
+
+    @Test
+    public void testParallelWithCheckpoint() {
+        assertThrows(IllegalStateException.class, () -> new BulkNameParser()
+                .withCheckpointFile(checkpoint)
+                .withParallelism(2)
+                .parse(input, output));
+        assertThrows(IllegalArgumentException.class, () -> new BulkNameParser().withParallelism(0));
+    }
+
+    @Test
+    public void testInvalidCheckpointInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new BulkNameParser().withCheckpointInterval(0));
+    }
+
+    @Test
+    public void testInvalidCheckpointFile() throws IOException {
+        Files.write(checkpoint, "inputOffset=0\noutputOffset=0\nlines=0\nrows=0\n".getBytes(StandardCharsets.ISO_8859_1));
+        final IOException missing = assertThrows(IOException.class, () -> BulkCheckpoint.read(checkpoint));
+        assertTrue(missing.getMessage().endsWith("missing quarantineOffset"), missing.getMessage());
+
+        Files.write(checkpoint, "inputOffset=0\noutputOffset=0\nquarantineOffset=0\nlines=x\nrows=0\n"
+                .getBytes(StandardCharsets.ISO_8859_1));
+        final IOException invalid = assertThrows(IOException.class, () -> BulkCheckpoint.read(checkpoint));
+        assertTrue(invalid.getCause() instanceof NumberFormatException);
+    }
+
+    /**
+     * A channel that writes up to a limit, then fails as if the disk were full.
+     */
+    private static final class FailingChannel extends FileChannel {
+
+        private final FileChannel channel;
+        private long remaining;
+
+        FailingChannel(FileChannel channel, long limit) {
+            this.channel = channel;
+            this.remaining = limit;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (src.remaining() <= remaining) {
+                final int n = channel.write(src);
+                remaining -= n;
+                return n;
+            }
+            final ByteBuffer head = src.duplicate();
+            ((Buffer) head).limit(head.position() + (int) remaining);
+            remaining -= channel.write(head);
+            throw new IOException("No space left on device");
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            long n = 0;
+            for (int i = offset; i < offset + length; i++) {
+                n += write(srcs[i]);
+            }
+            return n;
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return channel.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return channel.read(dsts, offset, length);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return channel.read(dst, position);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return channel.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            channel.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            channel.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            channel.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@code FailureStats}.
+ *
+ * @since 0.4
+ */
+public class FailureStatsTest {
+
+    private static void add(FailureStats stats, long row, FailureReason reason) {
+        final byte[] input = ("name " + row).getBytes(StandardCharsets.UTF_8);
+        stats.add(row, reason, input, 0, input.length);
+    }
+
+    @Test
+    public void testSamplesAreBounded() {
+        final FailureStats stats = new FailureStats(8);
+        for (int row = 1; row <= 100_000; row++) {
+            add(stats, row, row % 10 == 0 ? FailureReason.MULTIPLE_COMMAS : FailureReason.NO_LAST_NAME);
+        }
+        assertEquals(90_000, stats.getCount(FailureReason.NO_LAST_NAME));
+        assertEquals(10_000, stats.getCount(FailureReason.MULTIPLE_COMMAS));
+        assertEquals(100_000, stats.getTotal());
+
+        final List<FailureStats.Sample> samples = stats.getSamples(FailureReason.MULTIPLE_COMMAS);
+        assertEquals(8, samples.size());
+        final Set<Long> rows = new HashSet<>();
+        long previous = 0;
+        for (FailureStats.Sample sample : samples) {
+            assertEquals(FailureReason.MULTIPLE_COMMAS, sample.getReason());
+            assertEquals(0, sample.getRow() % 10);
+            assertEquals("name " + sample.getRow(), sample.getInput());
+            assertTrue(sample.getRow() > previous);
+            previous = sample.getRow();
+            rows.add(sample.getRow());
+        }
+        // not just the first failures
+        assertTrue(previous > 80);
+        assertEquals(0, stats.getSamples(FailureReason.OTHER).size());
+        assertEquals("FailureStats[NO_LAST_NAME=90000, MULTIPLE_COMMAS=10000]", stats.toString());
+    }
+
+    @Test
+    public void testSamplesAreUniform() {
+        // each of the 1,000 failures is kept with a probability of 10/1000: count
+        // how many samples come from the first half
+        int firstHalf = 0;
+        for (int run = 0; run < 200; run++) {
+            final FailureStats stats = new FailureStats(10, run);
+            stats.addCount(FailureReason.OTHER, run);
+            for (int row = 1; row <= 1000; row++) {
+                add(stats, row, FailureReason.NO_FIRST_NAME);
+            }
+            for (FailureStats.Sample sample : stats.getSamples(FailureReason.NO_FIRST_NAME)) {
+                if (sample.getRow() <= 500) {
+                    firstHalf++;
+                }
+            }
+        }
+        // 1,000 samples from the first half are expected; the standard deviation is about 16
+        assertTrue(firstHalf > 900 && firstHalf < 1100, String.valueOf(firstHalf));
+    }
+
+    @Test
+    public void testNoSamples() {
+        final FailureStats stats = new FailureStats(0);
+        add(stats, 1, FailureReason.NO_LAST_NAME);
+        assertEquals(1, stats.getCount(FailureReason.NO_LAST_NAME));
+        assertEquals(0, stats.getSamples(FailureReason.NO_LAST_NAME).size());
+        assertThrows(IllegalArgumentException.class, () -> new FailureStats(-1));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@code GrammarPacks}.
+ *
+ * @since 0.4
+ */
+public class GrammarPacksTest {
+
+    /**
+     * A pack registered only in the test classpath.
+     */
+    public static final class EsperantoGrammarPack extends BuiltInGrammarPacks.ListGrammarPack {
+        public EsperantoGrammarPack() {
+            super(new Locale("eo"),
+                    Arrays.asList("s-ro", "s-ino"),
+                    // not an Esperanto word, but a value with regex metacharacters
+                    Arrays.asList("c++", "m.d."),
+                    Collections.<String>emptyList(),
+                    Collections.<String>emptyList(),
+                    Collections.singletonList("kaj"));
+        }
+    }
+
+    @Test
+    public void testGrammarIsCompiledOnce() {
+        assertSame(GrammarPacks.grammarFor(new Locale("pt")), GrammarPacks.grammarFor(new Locale("pt")));
+        // regions share the pack of their language
+        assertSame(GrammarPacks.grammarFor(new Locale("pt")), GrammarPacks.grammarFor(new Locale("pt", "BR")));
+    }
+
+    @Test
+    public void testLocaleWithoutPackUsesDefaultGrammar() {
+        assertNull(GrammarPacks.packFor(Locale.JAPANESE));
+        assertSame(NameGrammar.defaultGrammar(), GrammarPacks.grammarFor(Locale.JAPANESE));
+        assertSame(NameGrammar.defaultGrammar(), GrammarPacks.grammarFor(Locale.ROOT));
+    }
+
+    @Test
+    public void testPackFromServiceLoader() {
+        assertTrue(GrammarPacks.packFor(new Locale("eo")) instanceof EsperantoGrammarPack);
+        final NameParts parts = new NameParts();
+        new ReusableNameParser().setLocale(new Locale("eo")).parse("S-ino Ana Lopez kaj Garcia", parts);
+        assertEquals("S-ino", parts.getSalutation());
+        assertEquals("Ana", parts.getFirst());
+        assertEquals("Lopez kaj Garcia", parts.getLast());
+    }
+
+    @Test
+    public void testPackValuesAreLiteral() {
+        final ReusableNameParser parser = new ReusableNameParser(GrammarPacks.grammarFor(new Locale("eo")));
+        final NameParts parts = new NameParts();
+        parser.parse("Ana Lopez, C++", parts);
+        assertEquals("Lopez", parts.getLast());
+        assertEquals("C++", parts.getPostnominal());
+
+        // as a regex, "c++" would match "ccc", and "m.d." would match "mad"
+        parser.parse("Ana Lopez Ccc", parts);
+        assertEquals("Ccc", parts.getLast());
+        assertEquals("", parts.getPostnominal());
+        parser.parse("Ana Lopez Mad", parts);
+        assertEquals("Mad", parts.getLast());
+
+        parser.setNormalizeCase(true).parse("ANA LOPEZ, C++", parts);
+        assertEquals("C++", parts.getPostnominal());
+
+        // the same values with an override of the builder
+        for (String name : Arrays.asList("Ana Lopez Ccc", "Ana Lopez, C++")) {
+            final HumanNameParserParser builder = new HumanNameParserBuilder(name)
+                    .withLocale(new Locale("eo"))
+                    .withSalutations(Collections.singletonList("s-ro"))
+                    .build();
+            parser.setNormalizeCase(false).parse(name, parts);
+            assertEquals(parts.getLast(), builder.getLast());
+            assertEquals(parts.getPostnominal(), builder.getPostnominal());
+        }
+    }
+
+    @Test
+    public void testSpanish() {
+        final NameParts parts = new NameParts();
+        new ReusableNameParser(GrammarPacks.grammarFor(new Locale("es", "MX")))
+                .parse("Sra. Mar\u00eda Jos\u00e9 de la Fuente y L\u00f3pez", parts);
+        assertEquals("Sra.", parts.getSalutation());
+        assertEquals("Mar\u00eda", parts.getFirst());
+        assertEquals("Jos\u00e9", parts.getMiddle());
+        assertEquals("de la Fuente y L\u00f3pez", parts.getLast());
+    }
+
+    @Test
+    public void testPortuguese() {
+        final NameParts parts = new NameParts();
+        new ReusableNameParser(GrammarPacks.grammarFor(new Locale("pt", "BR")))
+                .parse("Dona Maria das Dores dos Santos Filho", parts);
+        assertEquals("Dona", parts.getSalutation());
+        assertEquals("Maria", parts.getFirst());
+        assertEquals("das Dores", parts.getMiddle());
+        assertEquals("dos Santos", parts.getLast());
+        assertEquals("Filho", parts.getSuffix());
+    }
+
+    @Test
+    public void testFrenchPerParse() {
+        final ReusableNameParser parser = new ReusableNameParser();
+        final NameParts parts = new NameParts();
+        parser.parse("Mlle Claire du Pont", parts);
+        assertEquals("Mlle", parts.getFirst());
+
+        parser.setLocale(Locale.FRENCH).parse("Mlle Claire du Pont", parts);
+        assertEquals("Mlle", parts.getSalutation());
+        assertEquals("Claire", parts.getFirst());
+        assertEquals("du Pont", parts.getLast());
+
+        parser.setGrammar(NameGrammar.defaultGrammar()).parse("Mlle Claire du Pont", parts);
+        assertEquals("Mlle", parts.getFirst());
+    }
+
+    @Test
+    public void testDutchWithBuilder() {
+        final HumanNameParserParser parser = new HumanNameParserBuilder("Dhr. Jan Pieter ter Horst")
+                .withLocale(new Locale("nl", "BE"))
+                .build();
+        assertEquals("Dhr.", parser.getSalutation());
+        assertEquals("Jan", parser.getFirst());
+        assertEquals("Pieter", parser.getMiddle());
+        assertEquals("ter Horst", parser.getLast());
+    }
+
+    @Test
+    public void testBuilderValuesOverrideLocale() {
+        final HumanNameParserParser parser = new HumanNameParserBuilder("Dhr. Jan ter Horst")
+                .withLocale(new Locale("nl"))
+                .withSalutations(Collections.singletonList("jhr"))
+                .build();
+        assertEquals("", parser.getSalutation());
+        assertEquals("Dhr.", parser.getFirst());
+        assertEquals("Jan", parser.getMiddle());
+        assertEquals("ter Horst", parser.getLast());
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@code LatencyHistogram}.
+ *
+ * @since 0.4
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBuckets() {
+        for (long nanos : new long[] {0, 1, 3, 4, 5, 7, 8, 100, 1000, 123_456_789L, Long.MAX_VALUE}) {
+            final int bucket = LatencyHistogram.bucket(nanos);
+            assertTrue(LatencyHistogram.upperBound(bucket) >= nanos, String.valueOf(nanos));
+            if (bucket > 0) {
+                assertTrue(LatencyHistogram.upperBound(bucket - 1) < nanos, String.valueOf(nanos));
+            }
+            // within 25%
+            assertTrue(LatencyHistogram.upperBound(bucket) - nanos <= nanos / 4 + 1, String.valueOf(nanos));
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(50));
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000, histogram.count());
+        final long p50 = histogram.percentile(50);
+        final long p99 = histogram.percentile(99);
+        assertTrue(p50 >= 500_000 && p50 <= 625_000, String.valueOf(p50));
+        assertTrue(p99 >= 990_000 && p99 <= 1_237_500, String.valueOf(p99));
+        assertTrue(histogram.percentile(100) >= 1_000_000);
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(101));
+    }
+}
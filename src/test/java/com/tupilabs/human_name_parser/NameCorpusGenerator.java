@@ -0,0 +1,390 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * <p>Generates names, with the parts the parser is expected to find, in the
+ * pipe-delimited format of {@code testNames.txt}:</p>
+ *
+ * <pre>
+ * name| leadingInit| first| nicknames| middle| last| suffix| salutation| postnominal
+ * </pre>
+ *
+ * <p>The names combine salutations, leading initials, quoted and parenthesized
+ * nicknames, middle names and initials, last names with the default prefixes,
+ * compound last names joined by "y", comma-flipped forms, suffixes and
+ * postnominals, each with its own {@link #withRate(Feature, double) rate}. The
+ * last names are drawn from a pool of real and synthetic names, skewed towards
+ * the first ones, and a share of the names repeats earlier ones. The same seed
+ * and settings always give the same names.</p>
+ *
+ * <p>Write a corpus file with</p>
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.tupilabs.human_name_parser.NameCorpusGenerator \
+ *     -Dexec.args="names.txt 1000000 42"
+ * </pre>
+ *
+ * @since 0.4
+ */
+public final class NameCorpusGenerator {
+
+    /**
+     * The optional features of a name.
+     */
+    public enum Feature {
+        SALUTATION,
+        LEADING_INIT,
+        NICKNAME,
+        MIDDLE,
+        PREFIX,
+        COMPOUND,
+        FLIPPED,
+        SUFFIX,
+        POSTNOMINAL,
+        /** A name that repeats one of the recent names. */
+        DUPLICATE
+    }
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "John", "Patricia", "Robert", "Jennifer",
+        "Michael", "Linda", "William", "Elizabeth", "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica",
+        "Thomas", "Sarah", "Charles", "Karen", "Bjorn", "Jason", "Ana", "Sergio", "Maria", "Jose", "Roger",
+        "Carlos", "Jo", "Al", "B.J.", "Mary-Kate", "Jean-Luc", "Siobhan", "Aiko", "Chen", "Olu"};
+
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+        "Miller", "Davis", "Rodriguez", "Martinez", "O'Malley", "Lin", "Priem", "Munoz", "O'Malley-Munoz",
+        "Berg", "Cruz", "McDonald", "MacArthur", "D'Angelo", "Nguyen", "Kinoshita", "Ortega", "Gasset"};
+
+    private static final String[] SYLLABLES = {"ba", "ber", "ca", "dor", "el", "fen", "gar", "hol", "is",
+        "kov", "lan", "mar", "nor", "os", "pet", "quin", "ros", "sal", "tan", "ul", "vin", "wick", "zel"};
+
+    private static final String[] NICKNAMES = {"Bill", "Wild Bill", "Bob", "Liz", "Kate", "Jim", "Bud", "Sunny"};
+
+    private static final String[] NICKNAME_QUOTES = {"'%s'", "\"%s\"", "(\"%s\")", "(%s)"};
+
+    private static final String[] SALUTATIONS = {"Mr", "Mr.", "Mrs", "Mrs.", "Ms", "Dr.", "Prof.", "Rev",
+        "Fr.", "Judge", "Hon.", "Honorable", "Master", "Miss"};
+
+    private static final String[] SUFFIXES = {"Jr", "Jr.", "Sr", "Sr.", "II", "III", "IV", "V", "2", "Senior",
+        "Junior"};
+
+    private static final String[] POSTNOMINALS = {"PhD", "Ph.D.", "PHD", "Esq", "Esquire", "MD", "DDS", "CPA",
+        "DVM", "DMD"};
+
+    /**
+     * Initials, without those that read as a suffix ("V") or as a conjunction ("Y").
+     */
+    private static final String INITIALS = "ABCDEFGHJKLMNOPRSTW";
+
+    private static final int RECENT_NAMES = 4096;
+
+    private final Random random;
+    private final Map<Feature, Double> rates = new EnumMap<>(Feature.class);
+    private final List<String> lastNames = new ArrayList<>();
+    private double skew = 2.0;
+    private final String[][] recent = new String[RECENT_NAMES][];
+    private int generated;
+
+    /**
+     * Create a generator.
+     * @param seed the seed of the random names
+     */
+    public NameCorpusGenerator(long seed) {
+        this.random = new Random(seed);
+        rates.put(Feature.SALUTATION, 0.1);
+        rates.put(Feature.LEADING_INIT, 0.05);
+        rates.put(Feature.NICKNAME, 0.05);
+        rates.put(Feature.MIDDLE, 0.4);
+        rates.put(Feature.PREFIX, 0.1);
+        rates.put(Feature.COMPOUND, 0.05);
+        rates.put(Feature.FLIPPED, 0.2);
+        rates.put(Feature.SUFFIX, 0.05);
+        rates.put(Feature.POSTNOMINAL, 0.03);
+        rates.put(Feature.DUPLICATE, 0.01);
+        withLastNames(10_000);
+    }
+
+    /**
+     * Sets the share of the names that have a feature.
+     * @param feature the feature
+     * @param rate the share, between 0 and 1
+     * @return this generator
+     */
+    public NameCorpusGenerator withRate(Feature feature, double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Invalid rate for " + feature + ": " + rate);
+        }
+        rates.put(feature, rate);
+        return this;
+    }
+
+    /**
+     * Sets the number of distinct last names (before prefixes and compounds),
+     * the real ones followed by synthetic ones.
+     * @param count the number of last names
+     * @return this generator
+     */
+    public NameCorpusGenerator withLastNames(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Invalid number of last names: " + count);
+        }
+        final Set<String> reserved = reservedWords();
+        final Set<String> seen = new HashSet<>();
+        lastNames.clear();
+        for (String last : LAST_NAMES) {
+            if (lastNames.size() < count && seen.add(last)) {
+                lastNames.add(last);
+            }
+        }
+        // the synthetic names come from their own seed, so that they do not
+        // depend on the names generated so far
+        final Random syllables = new Random(count);
+        int attempts = 0;
+        while (lastNames.size() < count) {
+            final StringBuilder sb = new StringBuilder();
+            final int length = 2 + syllables.nextInt(2);
+            for (int i = 0; i < length; i++) {
+                sb.append(SYLLABLES[syllables.nextInt(SYLLABLES.length)]);
+            }
+            if (++attempts > count * 4) {
+                // more names than the syllables can form: number them
+                sb.append(lastNames.size());
+            }
+            sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+            final String last = sb.toString();
+            if (!reserved.contains(last.toLowerCase(Locale.ROOT)) && seen.add(last)) {
+                lastNames.add(last);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Sets how much the last names are skewed towards the start of the pool. 1
+     * draws them uniformly, and each step above it concentrates them further.
+     * @param skew the skew, at least 1
+     * @return this generator
+     */
+    public NameCorpusGenerator withSkew(double skew) {
+        if (skew < 1) {
+            throw new IllegalArgumentException("Invalid skew: " + skew);
+        }
+        this.skew = skew;
+        return this;
+    }
+
+    /**
+     * The words that the grammar gives a meaning to, which must not appear as
+     * names.
+     */
+    private static Set<String> reservedWords() {
+        final Set<String> reserved = new HashSet<>();
+        reserved.addAll(HumanNameParserBuilder.DEFAULT_SALUTATIONS);
+        reserved.addAll(HumanNameParserBuilder.DEFAULT_POSTNOMINALS);
+        reserved.addAll(HumanNameParserBuilder.DEFAULT_SUFFIXES);
+        reserved.addAll(HumanNameParserBuilder.DEFAULT_CONJUNCTIONS);
+        for (String prefix : HumanNameParserBuilder.DEFAULT_PREFIXES) {
+            reserved.addAll(Arrays.asList(prefix.split(" ")));
+        }
+        return reserved;
+    }
+
+    private boolean has(Feature feature) {
+        return random.nextDouble() < rates.get(feature);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private String initial() {
+        return String.valueOf(INITIALS.charAt(random.nextInt(INITIALS.length())));
+    }
+
+    /**
+     * Generates the next name.
+     * @return the name followed by the expected leading initial, first name,
+     *     nicknames, middle name, last name, suffix, salutation and postnominal,
+     *     with empty strings for the missing parts
+     */
+    public String[] next() {
+        String[] row;
+        if (generated > 0 && has(Feature.DUPLICATE)) {
+            row = recent[random.nextInt(Math.min(generated, RECENT_NAMES))];
+        } else {
+            row = generate();
+        }
+        recent[generated++ % RECENT_NAMES] = row;
+        return row.clone();
+    }
+
+    private String[] generate() {
+        final String salutation = has(Feature.SALUTATION) ? pick(random, SALUTATIONS) : "";
+        final String leadingInit = has(Feature.LEADING_INIT) ? initial() + "." : "";
+        String first = pick(random, FIRST_NAMES);
+        // a leading initial is only told apart from a first name like "B.J." by
+        // the two letters that follow it
+        while (!leadingInit.isEmpty() && !Character.isLetter(first.charAt(1))) {
+            first = pick(random, FIRST_NAMES);
+        }
+        final StringBuilder middle = new StringBuilder();
+        if (has(Feature.MIDDLE)) {
+            final int words = 1 + random.nextInt(2);
+            for (int i = 0; i < words; i++) {
+                if (i > 0) {
+                    middle.append(' ');
+                }
+                switch (random.nextInt(3)) {
+                    case 0:
+                        middle.append(initial()).append('.');
+                        break;
+                    case 1:
+                        middle.append(initial());
+                        break;
+                    default:
+                        middle.append(pick(random, FIRST_NAMES));
+                        break;
+                }
+            }
+        }
+        final StringBuilder last = new StringBuilder();
+        if (has(Feature.PREFIX)) {
+            last.append(HumanNameParserBuilder.DEFAULT_PREFIXES.get(
+                    random.nextInt(HumanNameParserBuilder.DEFAULT_PREFIXES.size()))).append(' ');
+        }
+        last.append(lastName());
+        if (has(Feature.COMPOUND)) {
+            last.append(' ').append(HumanNameParserBuilder.DEFAULT_CONJUNCTIONS.get(0)).append(' ')
+                    .append(lastName());
+        }
+        final String suffix = has(Feature.SUFFIX) ? pick(random, SUFFIXES) : "";
+        final String postnominal = has(Feature.POSTNOMINAL) ? pick(random, POSTNOMINALS) : "";
+        final boolean flipped = has(Feature.FLIPPED);
+        // the nicknames need a space on both sides, which a flipped name without
+        // middle name does not have
+        final String nickname = (!flipped || middle.length() > 0) && has(Feature.NICKNAME)
+                ? pick(random, NICKNAMES) : "";
+
+        final StringBuilder name = new StringBuilder();
+        if (flipped) {
+            name.append(last).append(", ");
+        }
+        if (!salutation.isEmpty()) {
+            name.append(salutation).append(' ');
+        }
+        if (!leadingInit.isEmpty()) {
+            name.append(leadingInit).append(' ');
+        }
+        name.append(first);
+        if (!nickname.isEmpty()) {
+            name.append(' ').append(String.format(pick(random, NICKNAME_QUOTES), nickname));
+        }
+        if (middle.length() > 0) {
+            name.append(' ').append(middle);
+        }
+        if (!flipped) {
+            name.append(' ').append(last);
+        }
+        if (!suffix.isEmpty()) {
+            name.append(!flipped && random.nextBoolean() ? ", " : " ").append(suffix);
+        }
+        if (!postnominal.isEmpty()) {
+            name.append(random.nextBoolean() ? ", " : " ").append(postnominal);
+        }
+        return new String[] {name.toString(), leadingInit, first, nickname, middle.toString(),
+            last.toString(), suffix, expectedSalutation(salutation), postnominal};
+    }
+
+    /**
+     * The word boundary at the end of the salutation regex only applies to its
+     * last alternative, "hon", so the parser keeps the dot of the other
+     * salutations, and leaves it out for "Hon.".
+     */
+    private static String expectedSalutation(String salutation) {
+        return salutation.equals("Hon.") ? "Hon" : salutation;
+    }
+
+    private String lastName() {
+        final double r = Math.pow(random.nextDouble(), skew);
+        return lastNames.get((int) (r * lastNames.size()));
+    }
+
+    /**
+     * Generates the next name, as a line of the test names file, without the
+     * line terminator.
+     * @return the line
+     */
+    public String nextLine() {
+        return String.join("| ", next());
+    }
+
+    /**
+     * Writes names, one line each.
+     * @param out where to write the names
+     * @param count the number of names
+     * @param <A> the type of the appendable
+     * @return the appendable
+     * @throws IOException if the names cannot be written
+     */
+    public <A extends Appendable> A write(A out, long count) throws IOException {
+        for (long i = 0; i < count; i++) {
+            out.append(nextLine()).append('\n');
+        }
+        return out;
+    }
+
+    /**
+     * Writes a corpus file.
+     * @param args the file, the number of names (default 1,000,000), and the
+     *     seed (default 42)
+     * @throws IOException if the file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: NameCorpusGenerator <file> [count] [seed]");
+            System.exit(1);
+        }
+        final long count = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000L;
+        final long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+        try (Writer out = Files.newBufferedWriter(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+            new NameCorpusGenerator(seed).write(out, count);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@code NameCorpusGenerator}, and for the parser against the
+ * generated names.
+ *
+ * @since 0.4
+ */
+public class NameCorpusGeneratorTest {
+
+    @Test
+    public void testSameSeedSameNames() throws IOException {
+        final StringBuilder first = new NameCorpusGenerator(7).write(new StringBuilder(), 1000);
+        final StringBuilder second = new NameCorpusGenerator(7).write(new StringBuilder(), 1000);
+        final StringBuilder other = new NameCorpusGenerator(8).write(new StringBuilder(), 1000);
+        assertEquals(first.toString(), second.toString());
+        assertNotEquals(first.toString(), other.toString());
+    }
+
+    @Test
+    public void testParserFindsExpectedParts() {
+        final NameCorpusGenerator generator = new NameCorpusGenerator(42);
+        for (NameCorpusGenerator.Feature feature : NameCorpusGenerator.Feature.values()) {
+            generator.withRate(feature, 0.3);
+        }
+        final boolean[] seen = new boolean[9];
+        int flipped = 0;
+        for (int i = 0; i < 20_000; i++) {
+            final String[] row = generator.next();
+            final HumanNameParserParser parser = new HumanNameParserBuilder(row[0]).build();
+            final String message = String.join("| ", row);
+            assertEquals(row[1], parser.getLeadingInit(), message);
+            assertEquals(row[2], parser.getFirst(), message);
+            assertEquals(row[3], parser.getNicknames(), message);
+            assertEquals(row[4], parser.getMiddle(), message);
+            assertEquals(row[5], parser.getLast(), message);
+            assertEquals(row[6], parser.getSuffix(), message);
+            assertEquals(row[7], parser.getSalutation(), message);
+            assertEquals(row[8], parser.getPostnominal(), message);
+            for (int column = 0; column < row.length; column++) {
+                seen[column] |= !row[column].isEmpty();
+            }
+            if (row[0].startsWith(row[5] + ",")) {
+                flipped++;
+            }
+        }
+        for (boolean column : seen) {
+            assertTrue(column);
+        }
+        assertTrue(flipped > 0);
+    }
+
+    @Test
+    public void testRates() {
+        final NameCorpusGenerator plain = new NameCorpusGenerator(1);
+        for (NameCorpusGenerator.Feature feature : NameCorpusGenerator.Feature.values()) {
+            plain.withRate(feature, 0);
+        }
+        for (int i = 0; i < 1000; i++) {
+            final String[] row = plain.next();
+            assertEquals(row[2] + " " + row[5], row[0]);
+        }
+
+        final NameCorpusGenerator duplicates = new NameCorpusGenerator(1)
+                .withLastNames(100_000)
+                .withSkew(1)
+                .withRate(NameCorpusGenerator.Feature.DUPLICATE, 0.5);
+        final Set<String> distinct = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            distinct.add(duplicates.nextLine());
+        }
+        assertTrue(distinct.size() > 4500 && distinct.size() < 5500, String.valueOf(distinct.size()));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for {@code NameFormat}.
+ *
+ * @since 0.4
+ */
+public class NameFormatTest {
+
+    private final ReusableNameParser parser = new ReusableNameParser();
+    private final NameParts parts = new NameParts();
+
+    private String format(String template, String name) {
+        parser.parse(name, parts);
+        final String formatted = NameFormat.compile(template).format(parts);
+        assertEquals(formatted, NameFormat.compile(template).format(new HumanNameParserBuilder(name).build()));
+        return formatted;
+    }
+
+    @Test
+    public void testFormats() {
+        final String lastFirst = "{last}, {first}[ {middle:initials}]";
+        assertEquals("O'Malley, Bjorn C. R.", format(lastFirst, "Bjorn Charles R. O'Malley"));
+        assertEquals("O'Malley, Bjorn", format(lastFirst, "Bjorn O'Malley"));
+        assertEquals("BJORN VAN DER O'MALLEY", format("{first:upper} {last:upper}", "Bjorn van der O'Malley"));
+        assertEquals("bjorn", format("{first:lower}", "Bjorn O'Malley"));
+        assertEquals("BCVDO", format("{first:letters}{middle:letters}{last:letters}", "Bjorn Charles van der O'Malley"));
+        assertEquals("J. P.", format("{first:initials} {last:initials}", "jason priem"));
+        assertEquals("Dr. B. William Carlos Billy von Williams III, PHD",
+                format("[{salutation} ][{leadingInit} ]{first}[ {middle}][ {nicknames}] {last}[ {suffix}][, {postnominal}]",
+                        "Dr. B. William Carlos \"Billy\" von Williams III,PHD"));
+        assertEquals("William Williams", format("{first}[ {nicknames}][ ({nicknames})] {last}", "William Williams"));
+    }
+
+    @Test
+    public void testNestedOptionalSections() {
+        final String template = "{last}[, {first}[ {middle}]]";
+        assertEquals("O'Malley, Bjorn Charles", format(template, "Bjorn Charles O'Malley"));
+        assertEquals("O'Malley, Bjorn", format(template, "Bjorn O'Malley"));
+        assertEquals("[O'Malley] {Bjorn}", format("\\[{last}\\] \\{{first}\\}", "Bjorn O'Malley"));
+    }
+
+    @Test
+    public void testPartsNotParsed() {
+        final NameFormat format = NameFormat.compile("{last}[, {first}]");
+        final HumanNameParserParser lastOnly = new HumanNameParserBuilder("Bjorn O'Malley")
+                .withParts(EnumSet.of(NamePart.LAST))
+                .build();
+        assertEquals("O'Malley", format.format(lastOnly));
+    }
+
+    @Test
+    public void testAppendable() throws IOException {
+        final NameFormat format = NameFormat.compile("{last}, {first}");
+        final StringWriter out = new StringWriter();
+        parser.parse("Bjorn O'Malley", parts);
+        format.format(parts, out).append('\n');
+        parser.parse("Linda Jones", parts);
+        format.format(parts, out).append('\n');
+        assertEquals("O'Malley, Bjorn\nJones, Linda\n", out.toString());
+        assertEquals("{last}, {first}", format.toString());
+    }
+
+    @Test
+    public void testInvalidTemplates() {
+        for (String template : new String[] {"{first", "first}", "{nickname}", "{first:title}", "[{first}",
+            "{first}]", "{first}\\"}) {
+            assertThrows(IllegalArgumentException.class, () -> NameFormat.compile(template), template);
+        }
+    }
+}
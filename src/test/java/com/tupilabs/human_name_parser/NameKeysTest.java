@@ -0,0 +1,103 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@code NameKey}s computed by {@code ReusableNameParser}.
+ *
+ * @since 0.4
+ */
+public class NameKeysTest {
+
+    private static NameParts parse(String name) {
+        final NameParts parts = new NameParts();
+        new ReusableNameParser().setKeys(EnumSet.allOf(NameKey.class)).parse(name, parts);
+        return parts;
+    }
+
+    @Test
+    public void testFoldedKeys() {
+        NameParts parts = parse("Bj\u00f6rn O'Malley-Mu\u00f1oz");
+        assertEquals("bjorn", parts.getKey(NameKey.FIRST_FOLDED));
+        assertEquals("omalleymunoz", parts.getKey(NameKey.LAST_FOLDED));
+
+        parts = parse("\u00c6lfric van der Stra\u00dfe");
+        assertEquals("aelfric", parts.getKey(NameKey.FIRST_FOLDED));
+        assertEquals("vanderstrasse", parts.getKey(NameKey.LAST_FOLDED));
+    }
+
+    @Test
+    public void testSoundexKeys() {
+        assertEquals("R163", parse("Robert Rupert").getKey(NameKey.FIRST_SOUNDEX));
+        assertEquals("R163", parse("Robert Rupert").getKey(NameKey.LAST_SOUNDEX));
+        assertEquals("R150", parse("Ann Rubin").getKey(NameKey.LAST_SOUNDEX));
+        assertEquals("A261", parse("Ann Ashcraft").getKey(NameKey.LAST_SOUNDEX));
+        assertEquals("T522", parse("Ann Tymczak").getKey(NameKey.LAST_SOUNDEX));
+        assertEquals("P236", parse("Ann Pfister").getKey(NameKey.LAST_SOUNDEX));
+        assertEquals("H555", parse("Ann Honeyman").getKey(NameKey.LAST_SOUNDEX));
+        assertEquals("O540", parse("Bjorn O'Malley").getKey(NameKey.LAST_SOUNDEX));
+        assertEquals("B265", parse("Bjorn O'Malley").getKey(NameKey.FIRST_SOUNDEX));
+        assertEquals("L000", parse("Bin Lee").getKey(NameKey.LAST_SOUNDEX));
+    }
+
+    @Test
+    public void testBlockingKey() {
+        assertEquals("omalleyb", parse("Bjorn C. O'Malley").getKey(NameKey.BLOCKING));
+        assertEquals("omalleyb", parse("O'MALLEY, B.").getKey(NameKey.BLOCKING));
+    }
+
+    @Test
+    public void testOnlyRequestedKeys() {
+        final NameParts parts = new NameParts();
+        new ReusableNameParser().setKeys(EnumSet.of(NameKey.LAST_SOUNDEX)).parse("Bjorn O'Malley", parts);
+        assertEquals("O540", parts.getKey(NameKey.LAST_SOUNDEX));
+        assertTrue(parts.keyContentEquals(NameKey.LAST_SOUNDEX, "O540"));
+        assertEquals(0, parts.keyLength(NameKey.LAST_FOLDED));
+        assertEquals("", parts.getKey(NameKey.BLOCKING));
+    }
+
+    @Test
+    public void testKeysOfProjectedParts() {
+        final NameParts parts = new NameParts();
+        new ReusableNameParser().setKeys(EnumSet.allOf(NameKey.class))
+                .parse("Bjorn O'Malley", EnumSet.of(NamePart.LAST), parts);
+        assertEquals("omalley", parts.getKey(NameKey.LAST_FOLDED));
+        assertEquals("", parts.getKey(NameKey.FIRST_FOLDED));
+        assertEquals("omalley", parts.getKey(NameKey.BLOCKING));
+    }
+
+    @Test
+    public void testCopyKeepsKeys() {
+        final NameParts copy = parse("Bjorn O'Malley").copy();
+        assertEquals("omalleyb", copy.getKey(NameKey.BLOCKING));
+        assertEquals("O'Malley", copy.getLast());
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@code NameParserConfig}.
+ *
+ * @since 0.4
+ */
+public class NameParserConfigTest {
+
+    private static NameParserConfig config() {
+        return new HumanNameParserBuilder("")
+                .withExtraSalutations(Arrays.asList("capt"))
+                .buildConfig()
+                .withNormalizeCase(true)
+                .withKeys(EnumSet.of(NameKey.LAST_SOUNDEX));
+    }
+
+    private static byte[] serialize(Object o) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(o);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes, ClassLoader loader) throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+                return Class.forName(desc.getName(), false, loader);
+            }
+        }) {
+            return in.readObject();
+        }
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        final NameParserConfig config = config();
+        final byte[] serialized = serialize(config);
+        // the lists, and the class descriptor of the serialized form
+        assertTrue(serialized.length < config.toBytes().length + 200, String.valueOf(serialized.length));
+
+        final NameParserConfig deserialized = (NameParserConfig) deserialize(serialized,
+                getClass().getClassLoader());
+        assertSame(config, deserialized);
+        assertSame(config.getGrammar(), deserialized.getGrammar());
+        assertEquals(config.getHash(), deserialized.getHash());
+
+        final NameParts parts = new NameParts();
+        deserialized.newParser().parse("CAPT. BJORN O'MALLEY", parts);
+        assertEquals("Capt.", parts.getSalutation());
+        assertEquals("O'Malley", parts.getLast());
+        assertEquals("O540", parts.getKey(NameKey.LAST_SOUNDEX));
+    }
+
+    @Test
+    public void testBytes() {
+        final NameParserConfig config = config().withParts(EnumSet.of(NamePart.FIRST, NamePart.LAST));
+        final byte[] bytes = config.toBytes();
+        assertSame(config, NameParserConfig.fromBytes(bytes));
+        assertEquals(EnumSet.of(NamePart.FIRST, NamePart.LAST), config.getParts());
+        assertTrue(config.isNormalizeCase());
+        assertEquals(EnumSet.of(NameKey.LAST_SOUNDEX), config.getKeys());
+        assertTrue(config.getGrammar().getSalutations().contains("capt"));
+        assertEquals(config, config.withNormalizeCase(false).withNormalizeCase(true));
+        assertTrue(config.getHash() != config.withNormalizeCase(false).getHash());
+
+        assertThrows(IllegalArgumentException.class, () -> NameParserConfig.fromBytes(new byte[] {1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> NameParserConfig.fromBytes(Arrays.copyOf(bytes, bytes.length - 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> NameParserConfig.fromBytes(Arrays.copyOf(bytes, bytes.length + 1)));
+    }
+
+    @Test
+    public void testUnusedConfigsAreCollected() throws Exception {
+        final NameParserConfig kept = config();
+        final List<byte[]> dropped = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            // configs derived per request, then dropped
+            dropped.add(kept.withParts(EnumSet.of(NamePart.values()[i % NamePart.values().length]))
+                    .withNormalizeCase(i % 2 == 0).toBytes());
+        }
+        boolean collected = false;
+        for (int attempt = 0; attempt < 50 && !collected; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+            collected = dropped.stream().noneMatch(NameParserConfig::isShared);
+        }
+        assertTrue(collected);
+        assertTrue(NameParserConfig.isShared(kept.toBytes()));
+        assertSame(kept, NameParserConfig.fromBytes(kept.toBytes()));
+    }
+
+    @Test
+    public void testDefaultGrammarIsShared() {
+        final NameParserConfig config = new HumanNameParserBuilder("").buildConfig();
+        assertSame(NameGrammar.defaultGrammar(), config.getGrammar());
+        assertSame(NameGrammar.defaultGrammar(), NameParserConfig.fromBytes(config.toBytes()).getGrammar());
+    }
+
+    @Test
+    public void testOneInstancePerClassLoader() throws Exception {
+        final byte[] serialized = serialize(config());
+        final URL[] classpath = {
+            NameParserConfig.class.getProtectionDomain().getCodeSource().getLocation(),
+            StringUtils.class.getProtectionDomain().getCodeSource().getLocation()
+        };
+        // two workers, each loading the classes in their own class loader, as a new JVM would
+        final ClassLoader parent = ClassLoader.getSystemClassLoader().getParent();
+        try (URLClassLoader worker1 = new URLClassLoader(classpath, parent);
+                URLClassLoader worker2 = new URLClassLoader(classpath, parent)) {
+            final Object config1 = deserialize(serialized, worker1);
+            final Object config2 = deserialize(serialized, worker2);
+            assertNotSame(NameParserConfig.class, config1.getClass());
+            assertNotSame(config1.getClass(), config2.getClass());
+
+            // every task of a worker gets the same instance, and compiled grammar
+            assertSame(config1, deserialize(serialized, worker1));
+            assertSame(invoke(config1, "getGrammar"), invoke(deserialize(serialized, worker1), "getGrammar"));
+            assertNotSame(invoke(config1, "getGrammar"), invoke(config2, "getGrammar"));
+            assertEquals(config().getHash(), invoke(config1, "getHash"));
+            assertArrayEquals(config().toBytes(), (byte[]) invoke(config2, "toBytes"));
+
+            for (ClassLoader loader : Arrays.asList(worker1, worker2)) {
+                final Object config = deserialize(serialized, loader);
+                final Class<?> partsClass = loader.loadClass(NameParts.class.getName());
+                final Object parts = partsClass.getConstructor().newInstance();
+                final Object parser = invoke(config, "newParser");
+                parser.getClass().getMethod("parse", CharSequence.class, partsClass)
+                        .invoke(parser, "CAPT. BJORN O'MALLEY", parts);
+                assertEquals("O'Malley", invoke(parts, "getLast"));
+                assertEquals("Capt.", invoke(parts, "getSalutation"));
+            }
+        }
+    }
+
+    private static Object invoke(Object target, String method) throws Exception {
+        return target.getClass().getMethod(method).invoke(target);
+    }
+
+    @Test
+    public void testInvalidSerializedForm() throws Exception {
+        final byte[] serialized = serialize(config());
+        final byte[] bytes = config().toBytes();
+        // corrupt the version byte of the config, found after the class descriptor
+        final int index = indexOf(serialized, bytes);
+        serialized[index] = 99;
+        assertThrows(InvalidObjectException.class,
+                () -> deserialize(serialized, getClass().getClassLoader()));
+    }
+
+    private static int indexOf(byte[] haystack, byte[] needle) throws IOException {
+        outer:
+        for (int i = 0; i <= haystack.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        throw new IOException("Not found");
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@code NameRecordWriter} and {@code NameRecordReader}.
+ *
+ * @since 0.4
+ */
+public class NameRecordWriterTest {
+
+    private static List<NameParts> parsedNames() throws Exception {
+        final ReusableNameParser parser = new ReusableNameParser();
+        final List<NameParts> names = new ArrayList<>();
+        for (String name : ReusableNameParserTest.testNames()) {
+            final NameParts parts = new NameParts();
+            try {
+                parser.parse(name, parts);
+                names.add(parts);
+            } catch (ParseException e) {
+                // skipped
+            }
+        }
+        // a supplementary char, and an unpaired surrogate
+        final NameParts parts = new NameParts();
+        parser.parse("Bj\ud83d\ude00rn O'Mal\ud800ley", parts);
+        names.add(parts);
+        return names;
+    }
+
+    private static void assertRoundTrip(NameRecordWriter writer, List<NameParts> names, ByteBuffer buffer) {
+        assertTrue(writer.writeHeader(buffer));
+        for (NameParts parts : names) {
+            assertTrue(writer.write(parts, buffer));
+        }
+        buffer.flip();
+        final NameRecordReader reader = new NameRecordReader(buffer);
+        assertEquals(writer.getDictionarySize(), reader.getDictionarySize());
+        final NameParts actual = new NameParts();
+        for (NameParts expected : names) {
+            assertTrue(reader.next());
+            reader.read(actual);
+            for (NamePart part : NamePart.values()) {
+                assertEquals(expected.get(part), actual.get(part));
+                assertEquals(expected.get(part), reader.get(part));
+                assertEquals(expected.isEmpty(part), reader.isEmpty(part));
+                if (expected.get(part).indexOf('\ud800') < 0) {
+                    assertEquals(expected.get(part), StandardCharsets.UTF_8.decode(reader.getUtf8(part)).toString());
+                }
+            }
+        }
+        assertFalse(reader.next());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        final List<NameParts> names = parsedNames();
+        assertRoundTrip(new NameRecordWriter(), names, ByteBuffer.allocate(1 << 16));
+        assertRoundTrip(new NameRecordWriter(), names, ByteBuffer.allocateDirect(1 << 16));
+    }
+
+    @Test
+    public void testRoundTripWithDictionary() throws Exception {
+        final List<NameParts> names = parsedNames();
+        final List<String> dictionary = Arrays.asList("Bjorn", "O'Malley", "Jr.", "", "Bjorn", "\ud800x");
+        assertRoundTrip(new NameRecordWriter(dictionary), names, ByteBuffer.allocate(1 << 16));
+        assertRoundTrip(new NameRecordWriter(dictionary), names, ByteBuffer.allocateDirect(1 << 16));
+        assertEquals(4, new NameRecordWriter(dictionary).getDictionarySize());
+    }
+
+    @Test
+    public void testDictionaryMakesRecordsSmaller() throws Exception {
+        final List<NameParts> names = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            names.addAll(parsedNames());
+        }
+        final Map<String, Long> counts = names.stream()
+                .flatMap(parts -> Arrays.stream(NamePart.values()).map(parts::get))
+                .filter(part -> !part.isEmpty())
+                .collect(Collectors.groupingBy(part -> part, Collectors.counting()));
+        final ByteBuffer plain = ByteBuffer.allocate(1 << 20);
+        final ByteBuffer encoded = ByteBuffer.allocate(1 << 20);
+        final NameRecordWriter plainWriter = new NameRecordWriter();
+        final NameRecordWriter dictionaryWriter = new NameRecordWriter(counts.keySet());
+        plainWriter.writeHeader(plain);
+        dictionaryWriter.writeHeader(encoded);
+        final int plainHeader = plain.position();
+        final int encodedHeader = encoded.position();
+        for (NameParts parts : names) {
+            plainWriter.write(parts, plain);
+            dictionaryWriter.write(parts, encoded);
+        }
+        // one byte per part
+        assertEquals(names.size() * 9, encoded.position() - encodedHeader, 2.0 * names.size());
+        assertTrue(plain.position() - plainHeader > 2 * (encoded.position() - encodedHeader));
+        encoded.flip();
+        final NameRecordReader reader = new NameRecordReader(encoded);
+        assertTrue(reader.next());
+        assertTrue(reader.getDictionaryId(NamePart.LAST) >= 0);
+        assertEquals(names.get(0).getLast(), reader.get(NamePart.LAST));
+    }
+
+    @Test
+    public void testRefillBuffer() throws Exception {
+        final List<NameParts> names = parsedNames();
+        final NameRecordWriter writer = new NameRecordWriter(Collections.singletonList("Bjorn"));
+        final ByteBuffer all = ByteBuffer.allocate(1 << 16);
+        writer.writeHeader(all);
+        final ByteBuffer small = ByteBuffer.allocate(64);
+        for (NameParts parts : names) {
+            while (!writer.write(parts, small)) {
+                small.flip();
+                all.put(small);
+                small.clear();
+            }
+        }
+        small.flip();
+        all.put(small);
+        all.flip();
+
+        // read through a small buffer, refilled when a record is incomplete
+        final ByteBuffer window = ByteBuffer.allocate(64);
+        final ByteBuffer source = all.duplicate();
+        source.limit(source.position() + 16);
+        window.put(source);
+        window.flip();
+        final NameRecordReader reader = new NameRecordReader(window);
+        source.limit(all.limit());
+        final NameParts actual = new NameParts();
+        int read = 0;
+        while (true) {
+            if (reader.next()) {
+                reader.read(actual);
+                assertEquals(names.get(read++).toString(), actual.toString());
+            } else if (source.hasRemaining()) {
+                window.compact();
+                while (window.hasRemaining() && source.hasRemaining()) {
+                    window.put(source.get());
+                }
+                window.flip();
+            } else {
+                break;
+            }
+        }
+        assertEquals(names.size(), read);
+        assertFalse(window.hasRemaining());
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new NameRecordReader(ByteBuffer.wrap("HNPX\u0001\u0000".getBytes(StandardCharsets.US_ASCII))));
+        assertThrows(IllegalArgumentException.class, () -> new NameRecordReader(ByteBuffer.allocate(2)));
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[] {'H', 'N', 'P', 'R', 1, 0, 8, 0, 0, 0, 0, 0, 0, 0, 3});
+        final NameRecordReader reader = new NameRecordReader(buffer);
+        // the last part references a dictionary value, but the dictionary is empty
+        assertThrows(IllegalArgumentException.class, reader::next);
+        assertThrows(IllegalStateException.class, () -> reader.get(NamePart.FIRST));
+    }
+
+    @Test
+    public void testBufferTooSmall() throws Exception {
+        final NameParts parts = parsedNames().get(0);
+        final ByteBuffer buffer = ByteBuffer.allocate(4);
+        assertFalse(new NameRecordWriter().write(parts, buffer));
+        assertEquals(0, buffer.position());
+        assertFalse(new NameRecordWriter(Collections.singletonList("Bjorn")).writeHeader(buffer));
+        assertEquals(0, buffer.position());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for {@code NameSplitter} and {@code HumanNameParserBuilder#buildAll()}.
+ *
+ * @since 0.4
+ */
+public class NameSplitterTest {
+
+    @Test
+    public void testSplitSeparators() {
+        assertEquals(Arrays.asList("John", "Jane Smith"), NameSplitter.split("John and Jane Smith"));
+        assertEquals(Arrays.asList("Dr. A. Jones", "Mr. B. Jones"), NameSplitter.split("Dr. A. Jones & Mr. B. Jones"));
+        assertEquals(Arrays.asList("Smith, John", "Doe, Jane"), NameSplitter.split("Smith, John; Doe, Jane;"));
+        assertEquals(Arrays.asList("John", "Jane Smith"), NameSplitter.split("John AND Jane Smith"));
+    }
+
+    @Test
+    public void testSplitKeepsWordsContainingAnd() {
+        assertEquals(Collections.singletonList("Andrew Sandburg"), NameSplitter.split("Andrew Sandburg"));
+        assertEquals(Collections.singletonList("Anders And"), NameSplitter.split("Anders And"));
+    }
+
+    @Test
+    public void testSplitIgnoresSeparatorsInNicknames() {
+        assertEquals(Collections.singletonList("Bjorn (\"Bill and Ted\") O'Malley"),
+                NameSplitter.split("Bjorn (\"Bill and Ted\") O'Malley"));
+        assertEquals(Collections.singletonList("Bjorn \"Bill & Ted\" O'Malley"),
+                NameSplitter.split("Bjorn \"Bill & Ted\" O'Malley"));
+    }
+
+    @Test
+    public void testSplitEmpty() {
+        assertEquals(Collections.emptyList(), NameSplitter.split(" ; & "));
+    }
+
+    @Test
+    public void testBuildAllSharesLastName() {
+        List<HumanNameParserParser> parsers = new HumanNameParserBuilder("John and Jane Smith").buildAll();
+        assertEquals(2, parsers.size());
+        assertEquals("John", parsers.get(0).getFirst());
+        assertEquals("Smith", parsers.get(0).getLast());
+        assertEquals("Jane", parsers.get(1).getFirst());
+        assertEquals("Smith", parsers.get(1).getLast());
+    }
+
+    @Test
+    public void testBuildAllSharesWholeName() {
+        List<HumanNameParserParser> parsers = new HumanNameParserBuilder("Mr. and Mrs. John Smith").buildAll();
+        assertEquals(2, parsers.size());
+        assertEquals("Mr.", parsers.get(0).getSalutation());
+        assertEquals("John", parsers.get(0).getFirst());
+        assertEquals("Smith", parsers.get(0).getLast());
+        assertEquals("Mrs.", parsers.get(1).getSalutation());
+        assertEquals("John", parsers.get(1).getFirst());
+        assertEquals("Smith", parsers.get(1).getLast());
+    }
+
+    @Test
+    public void testBuildAllWithFullNames() {
+        List<HumanNameParserParser> parsers = new HumanNameParserBuilder("Dr. A. Jones & Mr. B. Jones").buildAll();
+        assertEquals(2, parsers.size());
+        assertEquals("Dr.", parsers.get(0).getSalutation());
+        assertEquals("A.", parsers.get(0).getFirst());
+        assertEquals("Jones", parsers.get(0).getLast());
+        assertEquals("Mr.", parsers.get(1).getSalutation());
+        assertEquals("B.", parsers.get(1).getFirst());
+        assertEquals("Jones", parsers.get(1).getLast());
+    }
+
+    @Test
+    public void testBuildAllWithFlippedNames() {
+        List<HumanNameParserParser> parsers = new HumanNameParserBuilder("O'Malley, Bjorn; Priem, Jason H.").buildAll();
+        assertEquals(2, parsers.size());
+        assertEquals("Bjorn", parsers.get(0).getFirst());
+        assertEquals("O'Malley", parsers.get(0).getLast());
+        assertEquals("Jason", parsers.get(1).getFirst());
+        assertEquals("H.", parsers.get(1).getMiddle());
+        assertEquals("Priem", parsers.get(1).getLast());
+    }
+
+    @Test
+    public void testBuildAllSinglePerson() {
+        List<HumanNameParserParser> parsers = new HumanNameParserBuilder("Bjorn O'Malley").buildAll();
+        assertEquals(1, parsers.size());
+        assertEquals("Bjorn", parsers.get(0).getFirst());
+        assertEquals("O'Malley", parsers.get(0).getLast());
+    }
+
+    @Test
+    public void testBuildAllFailsWithoutLastName() {
+        assertThrows(ParseException.class, () -> new HumanNameParserBuilder("John and Jane").buildAll());
+    }
+}
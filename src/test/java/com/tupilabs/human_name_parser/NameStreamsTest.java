@@ -0,0 +1,200 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@code NameStreams}.
+ *
+ * @since 0.4
+ */
+public class NameStreamsTest {
+
+    private static List<String> names() throws Exception {
+        final List<String> names = new ArrayList<>();
+        final List<String> testNames = ReusableNameParserTest.testNames();
+        for (int i = 0; i < 50; i++) {
+            names.addAll(testNames);
+            names.add("Bjorn");
+            names.add("Mr. Smith" + i);
+        }
+        return names;
+    }
+
+    @Test
+    public void testCountingBy() throws Exception {
+        final List<String> names = names();
+        final Map<String, Long> expected = new HashMap<>();
+        final ReusableNameParser parser = new ReusableNameParser();
+        final NameParts parts = new NameParts();
+        for (String name : names) {
+            try {
+                parser.parse(name, parts);
+                expected.merge(parts.get(NamePart.LAST), 1L, Long::sum);
+            } catch (ParseException e) {
+                // not counted
+            }
+        }
+        assertEquals(expected, NameStreams.parse(names.stream()).collect(NameStreams.countingBy(NamePart.LAST)));
+        assertEquals(expected,
+                NameStreams.parseReusing(names.stream()).collect(NameStreams.countingBy(NamePart.LAST)));
+        assertEquals(expected,
+                NameStreams.parseReusing(names.parallelStream()).collect(NameStreams.countingBy(NamePart.LAST)));
+    }
+
+    @Test
+    public void testToColumns() throws Exception {
+        final List<String> names = names();
+        final NameColumns sequential = NameStreams.parse(names.stream()).collect(NameStreams.toColumns());
+        final NameColumns parallel = NameStreams.parseReusing(names.parallelStream())
+                .collect(NameStreams.toColumns());
+        final List<ParseResult> expected = names.stream().map(NameStreams.parser())
+                .filter(ParseResult::isParsed).collect(Collectors.toList());
+        assertEquals(expected.size(), sequential.size());
+        assertEquals(expected.size(), parallel.size());
+        for (int row = 0; row < expected.size(); row++) {
+            for (NamePart part : NamePart.values()) {
+                assertEquals(expected.get(row).getParts().get(part), sequential.get(row, part));
+                assertEquals(expected.get(row).getParts().get(part), parallel.get(row, part));
+            }
+        }
+        // the repeated names are stored once
+        assertEquals(sequential.dictionarySize(), parallel.dictionarySize());
+        assertTrue(sequential.dictionarySize() < expected.size());
+        assertEquals(sequential.getId(0, NamePart.LAST),
+                sequential.getId(ReusableNameParserTest.testNames().size(), NamePart.LAST));
+        assertEquals(-1, sequential.getId(0, NamePart.SALUTATION));
+        sequential.trimToSize();
+        assertEquals(expected.get(1).getParts().get(NamePart.FIRST), sequential.get(1, NamePart.FIRST));
+    }
+
+    @Test
+    public void testFailureStats() throws Exception {
+        final List<String> names = names();
+        for (Stream<String> stream : Stream.of(names.stream(), names.parallelStream()).collect(Collectors.toList())) {
+            final FailureStats stats = NameStreams.parseReusing(stream).collect(NameStreams.failureStats(10));
+            assertEquals(50, stats.getCount(FailureReason.NO_LAST_NAME));
+            assertEquals(50, stats.getCount(FailureReason.NO_FIRST_NAME));
+            assertEquals(100, stats.getTotal());
+            final List<FailureStats.Sample> samples = stats.getSamples(FailureReason.NO_FIRST_NAME);
+            assertEquals(10, samples.size());
+            assertEquals(10, samples.stream().map(FailureStats.Sample::getInput).distinct().count());
+            for (FailureStats.Sample sample : samples) {
+                assertTrue(sample.getInput().startsWith("Mr. Smith"));
+                assertEquals(0, sample.getRow());
+            }
+        }
+    }
+
+    @Test
+    public void testMergeFailureStatsIsUniform() {
+        // 1000 failures in one split, 3000 in the other: the merged samples
+        // should come from both in proportion
+        long fromSmall = 0;
+        for (int run = 0; run < 200; run++) {
+            final FailureStats small = new FailureStats(10, run);
+            final FailureStats large = new FailureStats(10, ~run);
+            for (int i = 0; i < 1000; i++) {
+                small.add(0, FailureReason.OTHER, "small");
+            }
+            for (int i = 0; i < 3000; i++) {
+                large.add(0, FailureReason.OTHER, "large");
+            }
+            small.merge(large);
+            assertEquals(4000, small.getCount(FailureReason.OTHER));
+            final List<FailureStats.Sample> samples = small.getSamples(FailureReason.OTHER);
+            assertEquals(10, samples.size());
+            fromSmall += samples.stream().filter(s -> s.getInput().equals("small")).count();
+        }
+        // expected 500 of 2000
+        assertTrue(fromSmall > 400 && fromSmall < 600, String.valueOf(fromSmall));
+    }
+
+    @Test
+    public void testReusedResults() throws Exception {
+        final List<String> names = names();
+        final List<ParseResult> results = NameStreams.parse(names.stream()).collect(Collectors.toList());
+        assertEquals(names.size(), results.stream().distinct().count());
+        for (int i = 0; i < names.size(); i++) {
+            assertEquals(names.get(i), results.get(i).getInput());
+        }
+
+        // a reused result is overwritten by the next name, so a list holds
+        // the same result, the last name, over and over
+        final List<ParseResult> reused = NameStreams.parseReusing(names.stream()).collect(Collectors.toList());
+        assertEquals(names.size(), reused.size());
+        assertEquals(1, reused.stream().distinct().count());
+        assertEquals(names.get(names.size() - 1), reused.get(0).getInput());
+        final List<ParseResult> copies = NameStreams.parseReusing(names.stream()).map(ParseResult::copy)
+                .collect(Collectors.toList());
+        for (int i = 0; i < names.size(); i++) {
+            assertEquals(names.get(i), copies.get(i).getInput());
+            assertEquals(results.get(i).getParts().get(NamePart.LAST), copies.get(i).getParts().get(NamePart.LAST));
+        }
+    }
+
+    @Test
+    public void testSpliterator() throws Exception {
+        final List<String> names = names();
+        final Spliterator<ParseResult> spliterator = NameStreams.spliteratorReusing(names.spliterator(),
+                NameGrammar.defaultGrammar());
+        assertEquals(names.size(), spliterator.getExactSizeIfKnown());
+        assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED | Spliterator.NONNULL));
+        final Spliterator<ParseResult> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        assertEquals(names.size(), prefix.estimateSize() + spliterator.estimateSize());
+        final List<String> inputs = new ArrayList<>();
+        prefix.forEachRemaining(result -> inputs.add(result.getInput().toString()));
+        while (spliterator.tryAdvance(result -> inputs.add(result.getInput().toString()))) {
+            // advance
+        }
+        assertEquals(names, inputs);
+    }
+
+    @Test
+    public void testParser() {
+        final ParseResult result = NameStreams.parser().apply("Mr. Bjorn O'Malley");
+        assertTrue(result.isParsed());
+        assertEquals("O'Malley", result.getParts().get(NamePart.LAST));
+        final ParseResult failed = NameStreams.parser().apply("Bjorn");
+        assertFalse(failed.isParsed());
+        assertEquals(FailureReason.NO_LAST_NAME, failed.getFailure());
+        assertEquals("", failed.copy().getParts().get(NamePart.FIRST));
+        assertEquals("Bjorn", failed.copy().getInput());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@code ParseException}.
+ *
+ * @since 0.4
+ */
+public class ParseExceptionTest {
+
+    private static byte[] serialize(Object o) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(o);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ParseException deserialize(byte[] bytes) throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (ParseException) in.readObject();
+        }
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        final ParseException e = deserialize(serialize(
+                new ParseException(FailureReason.NO_LAST_NAME, "Couldn't find a last name.")));
+        assertEquals(FailureReason.NO_LAST_NAME, e.getReason());
+        assertEquals("Couldn't find a last name.", e.getMessage());
+    }
+
+    @Test
+    public void testDeserializeWithoutReason() throws Exception {
+        // an exception serialized by 0.3 has no reason field: renaming the
+        // field in the stream makes the reason missing the same way
+        final byte[] bytes = serialize(new ParseException(FailureReason.NO_LAST_NAME, "Bjorn"));
+        final byte[] field = "reason".getBytes(StandardCharsets.US_ASCII);
+        int renamed = 0;
+        for (int i = 0; i + field.length <= bytes.length; i++) {
+            int j = 0;
+            while (j < field.length && bytes[i + j] == field[j]) {
+                j++;
+            }
+            if (j == field.length) {
+                bytes[i] = 'x';
+                renamed++;
+            }
+        }
+        assertEquals(1, renamed);
+        final ParseException e = deserialize(bytes);
+        assertEquals(FailureReason.OTHER, e.getReason());
+        assertEquals("Bjorn", e.getMessage());
+    }
+
+    @Test
+    public void testNullReason() {
+        assertEquals(FailureReason.OTHER, new ParseException(null, "Bjorn").getReason());
+    }
+}
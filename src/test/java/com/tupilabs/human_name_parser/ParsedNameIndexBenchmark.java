@@ -0,0 +1,112 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the heap used per name and the lookup latency of {@code ParsedNameIndex}.
+ * Run with {@code mvn test -Pbenchmark}, and {@code -Dbenchmark.names=20000000} for
+ * another number of names (the default is 1,000,000).
+ *
+ * @since 0.4
+ */
+public class ParsedNameIndexBenchmark {
+
+    private static final Logger LOGGER = Logger.getLogger(ParsedNameIndexBenchmark.class.getName());
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "John", "Patricia", "Robert", "Jennifer",
+        "Michael", "Linda", "William", "Elizabeth", "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica",
+        "Thomas", "Sarah", "Charles", "Karen", "Bjorn", "Bin", "Jason", "Ana", "Sergio", "Maria", "Jose"};
+
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+        "Miller", "Davis", "Rodriguez", "Martinez", "O'Malley", "Lin", "Priem", "van der Berg", "de la Cruz"};
+
+    private static final int LOOKUPS = 200_000;
+
+    /**
+     * A random name, with one of many last names.
+     */
+    static String randomName(Random random) {
+        final String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        final String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)] + random.nextInt(50_000);
+        return random.nextInt(4) == 0 ? first.charAt(0) + ". " + last : first + " " + last;
+    }
+
+    @Test
+    public void testHeapAndLookupLatency() {
+        final int names = Integer.getInteger("benchmark.names", 1_000_000);
+        final ReusableNameParser parser = new ReusableNameParser().setKeys(ParsedNameIndex.KEYS);
+        final NameParts parts = new NameParts();
+
+        final long heapBefore = usedHeap();
+        final ParsedNameIndex index = new ParsedNameIndex();
+        final Random random = new Random(42);
+        long start = System.nanoTime();
+        for (int i = 0; i < names; i++) {
+            parser.parse(randomName(random), parts);
+            index.add(parts);
+        }
+        final long buildNanos = System.nanoTime() - start;
+        index.trimToSize();
+        final long heapAfter = usedHeap();
+
+        final String[] queries = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            queries[i] = randomName(random);
+        }
+        final int[] candidates = new int[256];
+        final long[] latencies = new long[LOOKUPS];
+        long matches = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            start = System.nanoTime();
+            parser.parse(queries[i], parts);
+            matches += index.lookup(parts, candidates);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        LOGGER.info(String.format("Indexed %,d names (%,d distinct strings) in %,d ms",
+                names, index.dictionarySize(), buildNanos / 1_000_000));
+        LOGGER.info(String.format("Heap per name: %.1f bytes measured, %.1f bytes estimated",
+                (heapAfter - heapBefore) / (double) names, index.estimatedBytes() / (double) names));
+        LOGGER.info(String.format("Parse + lookup latency: p50 %,d ns, p99 %,d ns, max %,d ns (%,d matches)",
+                latencies[LOOKUPS / 2], latencies[LOOKUPS * 99 / 100], latencies[LOOKUPS - 1], matches));
+        assertTrue(index.size() == names);
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
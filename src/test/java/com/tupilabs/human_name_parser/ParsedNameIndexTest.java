@@ -0,0 +1,156 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@code ParsedNameIndex}.
+ *
+ * @since 0.4
+ */
+public class ParsedNameIndexTest {
+
+    private ReusableNameParser parser;
+    private NameParts parts;
+    private ParsedNameIndex index;
+    private List<String> names;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        parser = new ReusableNameParser().setKeys(ParsedNameIndex.KEYS);
+        parts = new NameParts();
+        index = new ParsedNameIndex();
+        names = ReusableNameParserTest.testNames();
+        names.add("William ('Bill') Smith");
+        names.add("James Smith");
+        names.add("Smith, Jane");
+        for (String name : names) {
+            parser.parse(name, parts);
+            assertEquals(index.size(), index.add(parts));
+        }
+    }
+
+    private Set<String> lookup(String name) {
+        parser.parse(name, parts);
+        final int[] candidates = new int[4];
+        final int count = index.lookup(parts, candidates);
+        final Set<String> matches = new HashSet<>();
+        for (int i = 0; i < Math.min(count, candidates.length); i++) {
+            matches.add(names.get(candidates[i]));
+        }
+        if (count > candidates.length) {
+            final int[] all = new int[count];
+            assertEquals(count, index.lookup(parts, all));
+            for (int entry : all) {
+                matches.add(names.get(entry));
+            }
+        }
+        return matches;
+    }
+
+    @Test
+    public void testInitialMatchesFullName() {
+        final Set<String> matches = lookup("B. O'Malley");
+        assertTrue(matches.contains("Bjorn O'Malley"));
+        assertTrue(matches.contains("B O'Malley"));
+        assertTrue(matches.contains("O'Malley, C. Bjorn"));
+        assertTrue(matches.contains("B. C. O'Malley"));
+        assertEquals(false, matches.contains("Bjorn O'Malley-Munoz"));
+    }
+
+    @Test
+    public void testFullNameMatchesInitial() {
+        final Set<String> matches = lookup("BJORN O'MALLEY");
+        assertTrue(matches.contains("Bjorn O'Malley"));
+        assertTrue(matches.contains("B O'Malley"));
+        assertTrue(matches.contains("B. C. O'Malley"));
+        assertEquals(false, matches.contains("B.J. Thomas"));
+    }
+
+    @Test
+    public void testNicknames() {
+        assertEquals(new HashSet<>(Arrays.asList("William ('Bill') Smith")), lookup("Bill Smith"));
+        assertEquals(new HashSet<>(Arrays.asList("William ('Bill') Smith")), lookup("Will (Bill) Smith"));
+        assertEquals(new HashSet<>(Arrays.asList("James Smith", "Smith, Jane")), lookup("J Smith"));
+    }
+
+    @Test
+    public void testUnknownNames() {
+        assertEquals(new HashSet<>(), lookup("Bjorn Unknown"));
+        // only known as a first name
+        assertEquals(new HashSet<>(), lookup("Bjorn William"));
+    }
+
+    @Test
+    public void testEntries() {
+        assertEquals("omalley", index.getLast(0));
+        assertEquals("bjorn", index.getFirst(0));
+        assertEquals("", index.getNicknames(0));
+        assertTrue(index.estimatedBytes() > 0);
+        index.trimToSize();
+        assertEquals("omalley", index.getLast(0));
+        assertEquals(names.size(), index.size());
+        parser.parse("Bjorn O'Malley", parts);
+        index.add(parts);
+        names.add("Bjorn O'Malley");
+        assertTrue(lookup("B. O'Malley").contains("Bjorn O'Malley"));
+    }
+
+    @Test
+    public void testFailsWithoutKeys() {
+        new ReusableNameParser().parse("Bjorn O'Malley", parts);
+        assertThrows(IllegalArgumentException.class, () -> index.add(parts));
+    }
+
+    @Test
+    public void testManyNames() {
+        final ParsedNameIndex large = new ParsedNameIndex();
+        final List<String> added = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            final String name = "First" + (i % 70) + " Last" + (i % 1300);
+            parser.parse(name, parts);
+            large.add(parts);
+            added.add(name);
+        }
+        parser.parse("First3 Last3", parts);
+        final int[] candidates = new int[16];
+        final int count = large.lookup(parts, candidates);
+        assertEquals(1, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals("First3 Last3", added.get(candidates[i]));
+        }
+    }
+}
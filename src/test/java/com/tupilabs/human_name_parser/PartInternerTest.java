@@ -0,0 +1,152 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@code PartInterner}.
+ *
+ * @since 0.4
+ */
+public class PartInternerTest {
+
+    @Test
+    public void testIntern() {
+        final PartInterner interner = new PartInterner(1000);
+        assertEquals(1024, interner.getCapacity());
+        final String smith = interner.intern(new String("Smith"));
+        assertSame(smith, interner.intern(new String("Smith")));
+        assertSame(smith, interner.intern("xSmithx".toCharArray(), 1, 5));
+        assertEquals("Smit", interner.intern("xSmithx".toCharArray(), 1, 4));
+        assertSame("", interner.intern(new char[0], 0, 0));
+        assertEquals(2, interner.getHits());
+        assertEquals(2, interner.getMisses());
+        assertEquals(2 * (40 + 5), interner.getEstimatedBytesSaved());
+        assertEquals(2, interner.size());
+
+        interner.clear();
+        assertEquals(0, interner.size());
+        assertEquals(0, interner.getHits());
+        assertNotSame(smith, interner.intern(new String("Smith")));
+    }
+
+    @Test
+    public void testLongPartsAreNotInterned() {
+        final PartInterner interner = new PartInterner(16, 4);
+        final String long1 = new String("Smithson");
+        assertSame(long1, interner.intern(long1));
+        assertNotSame(long1, interner.intern(new String("Smithson")));
+        assertEquals(0, interner.size());
+    }
+
+    @Test
+    public void testBounded() {
+        final PartInterner interner = new PartInterner(64);
+        for (int i = 0; i < 100_000; i++) {
+            interner.intern("Name" + i);
+        }
+        assertTrue(interner.size() <= 64);
+        // a frequent part stays in the interner
+        final PartInterner frequent = new PartInterner(64);
+        final String smith = frequent.intern(new String("Smith"));
+        int hits = 0;
+        for (int i = 0; i < 1000; i++) {
+            frequent.intern("Name" + i);
+            if (frequent.intern(new String("Smith")) == smith) {
+                hits++;
+            }
+        }
+        assertTrue(hits > 900, String.valueOf(hits));
+        assertThrows(IllegalArgumentException.class, () -> new PartInterner(1));
+    }
+
+    @Test
+    public void testNamePartsAndBuilder() throws Exception {
+        final PartInterner interner = new PartInterner(1024);
+        final ReusableNameParser parser = new ReusableNameParser();
+        final NameParts first = new NameParts();
+        final NameParts second = new NameParts();
+        first.setInterner(interner);
+        second.setInterner(interner);
+        parser.parse("Bjorn O'Malley", first);
+        parser.parse("Mr. Bjorn C. O'Malley", second);
+        assertSame(first.getLast(), second.getLast());
+        assertSame(first.getFirst(), second.getFirst());
+        assertSame(first.getLast(), second.copy().getLast());
+
+        final HumanNameParserParser built = new HumanNameParserBuilder("O'Malley, Bjorn")
+                .withInterner(interner)
+                .build();
+        assertSame(first.getLast(), built.getLast());
+        assertSame(first.getFirst(), built.getFirst());
+        assertEquals("", built.getMiddle());
+        assertTrue(interner.getEstimatedBytesSaved() > 0);
+
+        // the builder results are the same with and without an interner
+        for (String name : ReusableNameParserTest.testNames()) {
+            final HumanNameParserParser expected = new HumanNameParserBuilder(name).build();
+            final HumanNameParserParser actual = new HumanNameParserBuilder(name).withInterner(interner).build();
+            assertEquals(expected.getFirst(), actual.getFirst());
+            assertEquals(expected.getLast(), actual.getLast());
+            assertEquals(expected.getMiddle(), actual.getMiddle());
+        }
+    }
+
+    @Test
+    public void testConcurrentInterning() throws Exception {
+        final PartInterner interner = new PartInterner(256);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        final String name = "Name" + (i % 300);
+                        assertEquals(name, interner.intern(name.toCharArray(), 0, name.length()));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(400_000, interner.getHits() + interner.getMisses());
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for {@code ReusableNameParser}. The results must be the same as the
+ * ones of {@code HumanNameParserParser}.
+ *
+ * @since 0.4
+ */
+public class ReusableNameParserTest {
+
+    private static final List<String> EDGE_CASES = Arrays.asList(
+            "Mr Smith",
+            "Bjorn 'Bill' 'Will' O'Malley",
+            "Bjorn\tO'Malley\r\n",
+            "O'Malley,Bjorn",
+            "O'Malley , Bjorn,",
+            "O'Malley, Bjorn,,",
+            ",O'Malley Bjorn",
+            "Bjorn O'Malley, Jr.,",
+            "Mr. Bjorn  'Bill'  O'Malley",
+            "Bjorn (\"Bill\") C. R. O'Malley y Munoz, PHD");
+
+    private static final List<String> INVALID_NAMES = Arrays.asList(
+            "Bjorn",
+            "  Bjorn    O'Malley ",
+            "O'Malley, Bjorn, Jr, III",
+            "Bjorn 'Bill' x 'Will' O'Malley",
+            "");
+
+    static List<String> testNames() throws IOException {
+        final List<String> names = new ArrayList<>();
+        for (String line : Files.readAllLines(Paths.get(Objects.requireNonNull(
+                ReusableNameParserTest.class.getResource("/testNames.txt")).getFile()), StandardCharsets.UTF_8)) {
+            if (StringUtils.isNotBlank(line)) {
+                names.add(line.split("\\|")[0].trim());
+            }
+        }
+        return names;
+    }
+
+    static void assertSameParts(HumanNameParserParser expected, NameParts actual) {
+        assertEquals(expected.getLeadingInit(), actual.getLeadingInit());
+        assertEquals(expected.getFirst(), actual.getFirst());
+        assertEquals(expected.getNicknames(), actual.getNicknames());
+        assertEquals(expected.getMiddle(), actual.getMiddle());
+        assertEquals(expected.getLast(), actual.getLast());
+        assertEquals(expected.getSuffix(), actual.getSuffix());
+        assertEquals(expected.getSalutation(), actual.getSalutation());
+        assertEquals(expected.getPostnominal(), actual.getPostnominal());
+    }
+
+    @Test
+    public void testSameResultsAsHumanNameParserParser() throws IOException {
+        final ReusableNameParser parser = new ReusableNameParser();
+        final NameParts parts = new NameParts();
+        final List<String> names = new ArrayList<>(testNames());
+        names.addAll(EDGE_CASES);
+        for (String name : names) {
+            parser.parse(name, parts);
+            assertSameParts(new HumanNameParserBuilder(name).build(), parts);
+        }
+    }
+
+    @Test
+    public void testFailureReasons() {
+        final ReusableNameParser parser = new ReusableNameParser();
+        final NameParts parts = new NameParts();
+        assertEquals(FailureReason.NO_LAST_NAME,
+                assertThrows(ParseException.class, () -> parser.parse("Bjorn", parts)).getReason());
+        assertEquals(FailureReason.NO_FIRST_NAME,
+                assertThrows(ParseException.class, () -> parser.parse("Mr. Smith", parts)).getReason());
+        assertEquals(FailureReason.MULTIPLE_MATCHES,
+                assertThrows(ParseException.class, () -> parser.parse("Bjorn 'Bill' x 'Will' O'Malley", parts))
+                        .getReason());
+        assertEquals(FailureReason.MULTIPLE_COMMAS,
+                assertThrows(ParseException.class, () -> parser.parse("O'Malley, Bjorn, Jr, III", parts))
+                        .getReason());
+        assertEquals(FailureReason.OTHER, new ParseException("other").getReason());
+    }
+
+    @Test
+    public void testSameFailuresAsHumanNameParserParser() {
+        final ReusableNameParser parser = new ReusableNameParser();
+        final NameParts parts = new NameParts();
+        for (String name : INVALID_NAMES) {
+            ParseException expected = assertThrows(ParseException.class, () -> new HumanNameParserBuilder(name).build());
+            ParseException actual = assertThrows(ParseException.class, () -> parser.parse(name, parts));
+            assertEquals(expected.getMessage(), actual.getMessage());
+            assertEquals(expected.getReason(), actual.getReason());
+        }
+        // and the parser can still be used
+        parser.parse("Bjorn O'Malley", parts);
+        assertEquals("O'Malley", parts.getLast());
+    }
+
+    @Test
+    public void testProjectedPartsEqualFullParse() throws IOException {
+        final ReusableNameParser parser = new ReusableNameParser();
+        final NameParts full = new NameParts();
+        final NameParts projected = new NameParts();
+        final List<String> names = new ArrayList<>(testNames());
+        names.addAll(EDGE_CASES);
+        final NamePart[] values = NamePart.values();
+        for (String name : names) {
+            parser.parse(name, full);
+            for (int mask = 0; mask < 1 << values.length; mask++) {
+                final Set<NamePart> parts = EnumSet.noneOf(NamePart.class);
+                for (NamePart part : values) {
+                    if ((mask & 1 << part.ordinal()) != 0) {
+                        parts.add(part);
+                    }
+                }
+                parser.parse(name, parts, projected);
+                for (NamePart part : values) {
+                    assertEquals(parts.contains(part) ? full.get(part) : "", projected.get(part),
+                            name + " " + parts + " " + part);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testProjectionSkipsLaterStages() {
+        final NameParts parts = new NameParts();
+        // a full parse fails, as there is no first name after the salutation
+        assertThrows(ParseException.class, () -> new ReusableNameParser().parse("Mr. Smith", parts));
+        new ReusableNameParser().parse("Mr. Smith", EnumSet.of(NamePart.LAST), parts);
+        assertEquals("Smith", parts.getLast());
+    }
+
+    @Test
+    public void testCustomGrammar() {
+        final NameGrammar grammar = new NameGrammar(
+                Collections.singletonList("don"),
+                HumanNameParserBuilder.DEFAULT_POSTNOMINALS,
+                HumanNameParserBuilder.DEFAULT_PREFIXES,
+                HumanNameParserBuilder.DEFAULT_SUFFIXES);
+        final NameParts parts = new NameParts();
+        new ReusableNameParser(grammar).parse("don ramon valdez", parts);
+        assertEquals("don", parts.getSalutation());
+        assertEquals("ramon", parts.getFirst());
+        assertEquals("valdez", parts.getLast());
+    }
+
+    @Test
+    public void testPartsWithoutStrings() {
+        final NameParts parts = new NameParts();
+        new ReusableNameParser().parse("Bjorn C. O'Malley", parts);
+        assertEquals(8, parts.length(NamePart.LAST));
+        assertEquals('O', parts.charAt(NamePart.LAST, 0));
+        assertEquals(true, parts.contentEquals(NamePart.FIRST, "Bjorn"));
+        assertEquals(true, parts.isEmpty(NamePart.SUFFIX));
+        assertEquals("C. O'Malley", parts.appendTo(NamePart.MIDDLE, new StringBuilder())
+                .append(' ').append(parts.getLast()).toString());
+    }
+
+    @Test
+    public void testParseFromCharArray() {
+        final char[] record = "id=1;name=Bjorn C. O'Malley;".toCharArray();
+        final NameParts parts = new NameParts();
+        new ReusableNameParser().parse(record, 10, 17, parts);
+        assertEquals("Bjorn", parts.getFirst());
+        assertEquals("C.", parts.getMiddle());
+        assertEquals("O'Malley", parts.getLast());
+        assertThrows(IndexOutOfBoundsException.class, () -> new ReusableNameParser().parse(record, 20, 17, parts));
+    }
+
+    @Test
+    public void testParseFromUtf8Bytes() throws IOException {
+        final ReusableNameParser parser = new ReusableNameParser();
+        final NameParts parts = new NameParts();
+        final List<String> names = new ArrayList<>(testNames());
+        names.add("S\u00e9rgio Vieira de Mello");
+        names.add("\u5c71\u7530 \u592a\u90ce");
+        names.add("Jos\u00e9 \ud83d\ude00 Mu\u00f1oz");
+        for (String name : names) {
+            final byte[] utf8 = ("|" + name + "|").getBytes(StandardCharsets.UTF_8);
+            final HumanNameParserParser expected = new HumanNameParserBuilder(name).build();
+            parser.parseUtf8(utf8, 1, utf8.length - 2, parts);
+            assertSameParts(expected, parts);
+
+            final ByteBuffer heap = ByteBuffer.wrap(utf8, 1, utf8.length - 2);
+            parser.parseUtf8(heap, parts);
+            assertSameParts(expected, parts);
+            assertEquals(1, heap.position());
+
+            final ByteBuffer direct = ByteBuffer.allocateDirect(utf8.length);
+            direct.put(utf8).position(1).limit(utf8.length - 1);
+            parser.parseUtf8(direct, parts);
+            assertSameParts(expected, parts);
+        }
+    }
+
+    @Test
+    public void testParseFromMalformedUtf8Bytes() {
+        final byte[] utf8 = {'B', 'j', (byte) 0xc3, ' ', 'O', 'M', 'a', 'l', 'l', 'e', 'y'};
+        final NameParts parts = new NameParts();
+        new ReusableNameParser().parseUtf8(utf8, 0, utf8.length, parts);
+        assertEquals(new String(utf8, 0, 3, StandardCharsets.UTF_8), parts.getFirst());
+        assertEquals("OMalley", parts.getLast());
+    }
+
+    @Test
+    public void testNormalizeCase() {
+        final ReusableNameParser parser = new ReusableNameParser().setNormalizeCase(true);
+        final NameParts parts = new NameParts();
+        parser.parse("BJORN C. O'MALLEY-MUNOZ", parts);
+        assertEquals("Bjorn", parts.getFirst());
+        assertEquals("C.", parts.getMiddle());
+        assertEquals("O'Malley-Munoz", parts.getLast());
+        parser.parse("dr. ronald mcdonald iii, phd", parts);
+        assertEquals("Dr.", parts.getSalutation());
+        assertEquals("Ronald", parts.getFirst());
+        assertEquals("McDonald", parts.getLast());
+        assertEquals("III", parts.getSuffix());
+        assertEquals("PhD", parts.getPostnominal());
+        parser.parse("LUDWIG 'LUDDY' VAN DER BEETHOVEN JR.", parts);
+        assertEquals("Luddy", parts.getNicknames());
+        assertEquals("van der Beethoven", parts.getLast());
+        assertEquals("Jr.", parts.getSuffix());
+        parser.parse("J. FIONA MACLEOD, ESQ", parts);
+        assertEquals("J.", parts.getLeadingInit());
+        assertEquals("MacLeod", parts.getLast());
+        assertEquals("Esq", parts.getPostnominal());
+        // a prefix that is the whole last name, and names after "Mac" that are not capitalized
+        parser.parse("ANNA LE", parts);
+        assertEquals("Le", parts.getLast());
+        parser.parse("JOSE MACHADO", parts);
+        assertEquals("Machado", parts.getLast());
+        // mixed case parts are kept, except suffixes and postnominals
+        parser.parse("Mary-Kate deVito ph.d.", parts);
+        assertEquals("Mary-Kate", parts.getFirst());
+        assertEquals("deVito", parts.getLast());
+        assertEquals("Ph.D.", parts.getPostnominal());
+        parser.setNormalizeCase(false).parse("BJORN O'MALLEY", parts);
+        assertEquals("O'MALLEY", parts.getLast());
+    }
+
+    @Test
+    public void testNormalizeCaseOfLocaleGrammar() {
+        final ReusableNameParser parser = new ReusableNameParser().setNormalizeCase(true)
+                .setLocale(new Locale("nl"));
+        final NameParts parts = new NameParts();
+        parser.parse("JAN VAN 'T HOFF MSC", parts);
+        assertEquals("Jan", parts.getFirst());
+        assertEquals("van 't Hoff", parts.getLast());
+        assertEquals("MSc", parts.getPostnominal());
+    }
+
+    @Test
+    public void testNormalizeCaseKeepsMixedCaseNames() throws IOException {
+        final ReusableNameParser parser = new ReusableNameParser();
+        final ReusableNameParser normalizing = new ReusableNameParser().setNormalizeCase(true);
+        final NameParts expected = new NameParts();
+        final NameParts actual = new NameParts();
+        for (String name : testNames()) {
+            try {
+                parser.parse(name, expected);
+            } catch (ParseException e) {
+                continue;
+            }
+            normalizing.parse(name, actual);
+            for (NamePart part : NamePart.values()) {
+                if (part == NamePart.SUFFIX || part == NamePart.POSTNOMINAL) {
+                    // "PHD" becomes "PhD"
+                    assertEquals(expected.get(part).toLowerCase(Locale.ROOT),
+                            actual.get(part).toLowerCase(Locale.ROOT), name);
+                } else {
+                    assertEquals(expected.get(part), actual.get(part), name);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSteadyStateDoesNotAllocate() throws IOException {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        final String[] names = testNames().toArray(new String[0]);
+        final ReusableNameParser parser = new ReusableNameParser().setKeys(EnumSet.allOf(NameKey.class))
+                .setNormalizeCase(true);
+        final NameParts parts = new NameParts();
+        final NameFormat format = NameFormat.compile("[{salutation} ]{last}, {first}[ {middle:initials}][ {suffix}]");
+        final StringBuilder formatted = new StringBuilder();
+        // warm up, so that the buffers reach their final size
+        for (int i = 0; i < 20_000; i++) {
+            parser.parse(names[i % names.length], parts);
+            formatted.setLength(0);
+            format.format(parts, formatted);
+        }
+        final byte[][] utf8Names = new byte[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            utf8Names[i] = names[i].getBytes(StandardCharsets.UTF_8);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            final byte[] utf8 = utf8Names[i % names.length];
+            parser.parseUtf8(utf8, 0, utf8.length, parts);
+        }
+        final long threadId = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10_000; i++) {
+            parser.parse(names[i % names.length], parts);
+            formatted.setLength(0);
+            format.format(parts, formatted);
+            final byte[] utf8 = utf8Names[i % names.length];
+            parser.parseUtf8(utf8, 0, utf8.length, parts);
+        }
+        final long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        // the measurement itself may allocate a little
+        assertEquals(true, allocated < 10_000, "Allocated " + allocated + " bytes");
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@code SharedNameParser}.
+ *
+ * @since 0.4
+ */
+public class SharedNameParserTest {
+
+    private final SharedNameParser parser = new SharedNameParser();
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        parser.unregister();
+    }
+
+    @Test
+    public void testSameResultsWithAndWithoutCache() throws Exception {
+        final List<String> names = ReusableNameParserTest.testNames();
+        final ReusableNameParser reference = new ReusableNameParser();
+        final NameParts expected = new NameParts();
+        final NameParts actual = new NameParts();
+        parser.setCacheCapacity(1000);
+        for (int round = 0; round < 2; round++) {
+            for (String name : names) {
+                reference.parse(name, expected);
+                parser.parse(name, actual);
+                assertEquals(expected.toString(), actual.toString());
+            }
+        }
+        assertEquals(names.size() * 2, parser.getParseCount());
+        assertEquals(names.size(), parser.getCacheMisses());
+        assertEquals(names.size(), parser.getCacheHits());
+        assertEquals(0.5, parser.getCacheHitRate());
+        assertEquals(names.size(), parser.getCacheSize());
+        assertTrue(parser.getLatencyP50Nanos() > 0);
+        assertTrue(parser.getLatencyP999Nanos() >= parser.getLatencyP50Nanos());
+        assertTrue(parser.getParsesPerSecond() > 0);
+    }
+
+    @Test
+    public void testFailures() {
+        final NameParts parts = new NameParts();
+        parser.setCacheCapacity(10);
+        for (int round = 0; round < 3; round++) {
+            final ParseException e = assertThrows(ParseException.class, () -> parser.parse("Bjorn", parts));
+            assertEquals(FailureReason.NO_LAST_NAME, e.getReason());
+            assertEquals("Couldn't find a last name in '{Bjorn}'.", e.getMessage());
+        }
+        assertThrows(ParseException.class, () -> parser.parse("Mr. Smith", parts));
+        assertEquals(4, parser.getFailureCount());
+        assertEquals(3, parser.getFailureCount(FailureReason.NO_LAST_NAME));
+        assertEquals(Long.valueOf(1), parser.getFailureCounts().get("NO_FIRST_NAME"));
+        assertEquals(2, parser.getCacheHits());
+
+        parser.resetStatistics();
+        assertEquals(0, parser.getParseCount());
+        assertEquals(0, parser.getFailureCount());
+        assertEquals(0, parser.getLatencyP99Nanos());
+    }
+
+    @Test
+    public void testResizeCache() {
+        final NameParts parts = new NameParts();
+        parser.setCacheCapacity(1000);
+        for (int i = 0; i < 500; i++) {
+            parser.parse("Bjorn O'Malley" + i, parts);
+        }
+        assertEquals(500, parser.getCacheSize());
+        parser.setCacheCapacity(100);
+        assertTrue(parser.getCacheSize() <= 100);
+        parser.setCacheCapacity(0);
+        assertEquals(0, parser.getCacheSize());
+        parser.parse("Bjorn O'Malley", parts);
+        assertEquals(0, parser.getCacheSize());
+        assertThrows(IllegalArgumentException.class, () -> parser.setCacheCapacity(-1));
+    }
+
+    @Test
+    public void testSmallCache() {
+        final NameParts parts = new NameParts();
+        for (int capacity : new int[] {1, 3, 10, 17}) {
+            parser.setCacheCapacity(capacity);
+            parser.resetStatistics();
+            // every name can be cached, whatever stripe it falls in
+            for (int i = 0; i < 100; i++) {
+                parser.parse("Bjorn O'Malley" + i, parts);
+                parser.parse("Bjorn O'Malley" + i, parts);
+            }
+            assertEquals(100, parser.getCacheHits());
+            assertTrue(parser.getCacheSize() <= capacity);
+        }
+    }
+
+    @Test
+    public void testInstrumentationToggle() {
+        final NameParts parts = new NameParts();
+        parser.setInstrumentationEnabled(false);
+        parser.parse("Bjorn O'Malley", parts);
+        assertEquals(1, parser.getParseCount());
+        assertEquals(0, parser.latencyPercentileNanos(100));
+        parser.setInstrumentationEnabled(true);
+        parser.parse("Bjorn O'Malley", parts);
+        assertTrue(parser.latencyPercentileNanos(100) > 0);
+    }
+
+    @Test
+    public void testJmx() throws Exception {
+        final ObjectName name = parser.register("test");
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertTrue(server.isRegistered(name));
+        assertThrows(IllegalStateException.class, () -> parser.register("again"));
+
+        parser.parse("Bjorn O'Malley", new NameParts());
+        assertThrows(ParseException.class, () -> parser.parse("Bjorn", new NameParts()));
+        assertEquals(2L, server.getAttribute(name, "ParseCount"));
+        final TabularData failures = (TabularData) server.getAttribute(name, "FailureCounts");
+        final CompositeData noLastName = failures.get(new Object[] {"NO_LAST_NAME"});
+        assertEquals(1L, noLastName.get("value"));
+
+        server.setAttribute(name, new Attribute("CacheCapacity", 50));
+        assertEquals(50, parser.getCacheCapacity());
+        server.setAttribute(name, new Attribute("InstrumentationEnabled", false));
+        assertFalse(parser.isInstrumentationEnabled());
+        server.invoke(name, "resetStatistics", new Object[0], new String[0]);
+        assertEquals(0L, server.getAttribute(name, "ParseCount"));
+
+        parser.unregister();
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    public void testConcurrentParses() throws Exception {
+        final List<String> names = ReusableNameParserTest.testNames();
+        final Map<String, String> expected = new HashMap<>();
+        final ReusableNameParser reference = new ReusableNameParser();
+        final NameParts parts = new NameParts();
+        for (String name : names) {
+            reference.parse(name, parts);
+            expected.put(name, parts.toString());
+        }
+        parser.setCacheCapacity(20);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    final NameParts result = new NameParts();
+                    for (int i = 0; i < 10_000; i++) {
+                        final String name = names.get(i % names.size());
+                        parser.parse(name, result);
+                        assertEquals(expected.get(name), result.toString());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(40_000, parser.getParseCount());
+        assertEquals(40_000, parser.getCacheHits() + parser.getCacheMisses());
+    }
+
+    @Test
+    public void testResizeWhileParsing() throws Exception {
+        final int[] capacities = {3, 10, 40, 1000};
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 2; t++) {
+                final int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        parser.setCacheCapacity(capacities[(i + offset) % capacities.length]);
+                    }
+                    return null;
+                }));
+                futures.add(executor.submit(() -> {
+                    final NameParts result = new NameParts();
+                    for (int i = 0; i < 20_000; i++) {
+                        parser.parse("Bjorn O'Malley" + i % 200, result);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        // no name is left over in a stripe that the last capacity does not use
+        assertTrue(parser.getCacheSize() <= parser.getCacheCapacity());
+        final NameParts parts = new NameParts();
+        parser.resetStatistics();
+        for (int i = 0; i < 100; i++) {
+            parser.parse("Bjorn Smith" + i, parts);
+            parser.parse("Bjorn Smith" + i, parts);
+        }
+        assertEquals(100, parser.getCacheHits());
+        assertTrue(parser.getCacheSize() <= parser.getCacheCapacity());
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2010-2025 Jason Priem, Bruno P. Kinoshita
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.tupilabs.human_name_parser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@code StringDictionary}.
+ *
+ * @since 0.4
+ */
+public class StringDictionaryTest {
+
+    private static int add(StringDictionary dictionary, String s) {
+        return dictionary.add(s.toCharArray(), 0, s.length());
+    }
+
+    private static int find(StringDictionary dictionary, String s) {
+        return dictionary.find(s.toCharArray(), 0, s.length());
+    }
+
+    @Test
+    public void testAddAndFind() {
+        final StringDictionary dictionary = new StringDictionary();
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, add(dictionary, "name" + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, add(dictionary, "name" + i));
+            assertEquals(i, find(dictionary, "name" + i));
+            assertEquals("name" + i, dictionary.get(i));
+        }
+        assertEquals(10_000, dictionary.size());
+        assertEquals(-1, find(dictionary, "name10000"));
+    }
+
+    @Test
+    public void testEmptyAndSubranges() {
+        final StringDictionary dictionary = new StringDictionary();
+        assertEquals(0, add(dictionary, ""));
+        final char[] chars = "xxsmithxx".toCharArray();
+        assertEquals(1, dictionary.add(chars, 2, 7));
+        assertEquals(1, find(dictionary, "smith"));
+        assertEquals(5, dictionary.length(1));
+        assertEquals('s', dictionary.charAt(1, 0));
+        assertEquals("smith", dictionary.appendTo(1, new StringBuilder()).toString());
+        assertEquals("", dictionary.get(0));
+    }
+
+    @Test
+    public void testAddAfterTrim() {
+        final StringDictionary dictionary = new StringDictionary();
+        dictionary.trimToSize();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, add(dictionary, "name" + i));
+            dictionary.trimToSize();
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, find(dictionary, "name" + i));
+        }
+    }
+}